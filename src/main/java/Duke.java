@@ -1,12 +1,22 @@
 import command.Command;
-import command.ErrorCommand;
+import command.RunCommand;
+import command.TransactionCommand;
+import common.Durability;
+import common.Message;
 import common.Storage;
+import common.Transaction;
+import common.UndoManager;
 import exception.DukeException;
 import parser.Parser;
+import task.CompactTaskStore;
+import task.ObjectTaskStore;
+import task.Task;
 import task.TaskList;
+import task.TaskStore;
+import task.TaskVersion;
 import ui.TextUi;
 
-import java.util.Stack;
+import java.util.List;
 
 /**
  * Control class of Duke, including the logic of Duke.
@@ -17,41 +27,72 @@ public class Duke {
     private Storage dukeStorage;
     private TaskList tasks;
     private boolean isFinished;
-    private Stack<Command> commandStack;
+    private UndoManager undoManager;
+    private TaskVersion seenVersion;
+    private Transaction transaction;
 
     /**
      * Initializes ui and storage.
+     * The durability of the storage is read from the duke.durability system property: sync, group or async.
+     * Setting the duke.store system property to compact keeps the tasks in a CompactTaskStore.
+     * The duke.undo.steps and duke.undo.bytes system properties cap the changes that can be undone and the
+     * estimated memory the changes kept for undo take.
      */
     public Duke() {
         textUi = new TextUi();
-        dukeStorage = new Storage("tasks.txt");
-        tasks = new TaskList(dukeStorage.readFromFile());
-        commandStack = new Stack<>();
+        Durability durability = Durability.fromName(System.getProperty("duke.durability", "group"));
+        dukeStorage = new Storage("tasks.txt", true, Storage.DEFAULT_COMPACTION_THRESHOLD, durability);
+        Runtime.getRuntime().addShutdownHook(new Thread(dukeStorage::close));
+        TaskStore store = System.getProperty("duke.store", "objects").equalsIgnoreCase("compact")
+                ? new CompactTaskStore()
+                : new ObjectTaskStore();
+        tasks = new TaskList(dukeStorage.readFromFile(), store);
+        undoManager = new UndoManager(Integer.getInteger("duke.undo.steps", 100),
+                Long.getLong("duke.undo.bytes", 1L << 20));
+        seenVersion = tasks.getVersion();
     }
 
     /**
      * Returns a string of duke's respond base on the user input command.
+     * Between begin and commit or rollback, undo and redo only reach the changes of the transaction.
      * @param text user input text.
      * @return duke's response
      */
     public String getResponse(String text) {
         try {
-            Command c;
+            if (tasks.getVersion() != seenVersion) {
+                // the list was loaded again from the storage file
+                clearHistory();
+            }
+            UndoManager changes = transaction == null ? undoManager : transaction.getChanges();
             String commandResult;
             if (text.trim().equalsIgnoreCase("undo")) {
-                if (commandStack.isEmpty()) {
-                    c = new ErrorCommand();
-                } else {
-                    c = commandStack.pop();
-                }
-                commandResult = c.undo(tasks, textUi, dukeStorage);
+                int undoCount = changes.getUndoCount();
+                commandResult = changes.undo(tasks)
+                        ? persistChanges(undoCount - changes.getUndoCount(), Message.MESSAGE_UNDIDCHANGES)
+                        : textUi.showError_Str(Message.MESSAGE_NOTHINGTOUNDO);
+            } else if (text.trim().equalsIgnoreCase("redo")) {
+                int redoCount = changes.getRedoCount();
+                commandResult = changes.redo(tasks)
+                        ? persistChanges(redoCount - changes.getRedoCount(), Message.MESSAGE_REDIDCHANGES)
+                        : textUi.showError_Str(Message.MESSAGE_NOTHINGTOREDO);
+            } else if (text.trim().equalsIgnoreCase("history")) {
+                commandResult = textUi.showHistory_Str(changes.getUndoCount(), changes.getRedoCount(),
+                        changes.getRetainedBytes());
             } else {
-                c = Parser.parse(text.trim());
-                if (c.isUndoable()) {
-                    commandStack.push(c);
+                Command c = Parser.parse(text.trim());
+                if (c instanceof TransactionCommand) {
+                    commandResult = handleTransaction(((TransactionCommand) c).getKind());
+                } else if (c instanceof RunCommand && transaction != null) {
+                    commandResult = textUi.showError_Str(Message.MESSAGE_NOSCRIPTINTRANSACTION);
+                } else {
+                    commandResult = c.execute(tasks, textUi, dukeStorage);
+                    if (tasks.getVersion() != seenVersion) {
+                        recordChange(c, changes);
+                    }
                 }
-                commandResult = c.execute(tasks, textUi, dukeStorage);
             }
+            seenVersion = tasks.getVersion();
             if (commandResult.equals("     It is time to say goodbye :(")) {
                 this.isFinished = true;
             }
@@ -61,11 +102,117 @@ public class Duke {
         }
     }
 
+    /**
+     * Begins, commits or rolls back a transaction.
+     *
+     * @param kind the kind of transaction command
+     * @return the message for the command
+     * @throws DukeException when the storage file cannot be accessed on commit
+     */
+    private String handleTransaction(TransactionCommand.Kind kind) throws DukeException {
+        if (kind == TransactionCommand.Kind.BEGIN) {
+            if (transaction != null) {
+                return textUi.showError_Str(Message.MESSAGE_INTRANSACTION);
+            }
+            transaction = new Transaction(dukeStorage);
+            return textUi.showMessage_Str(Message.MESSAGE_BEGIN);
+        }
+        if (transaction == null) {
+            return textUi.showError_Str(Message.MESSAGE_NOTRANSACTION);
+        }
+        Transaction ended = transaction;
+        transaction = null;
+        if (kind == TransactionCommand.Kind.COMMIT) {
+            return textUi.showMessage_Str(Message.MESSAGE_COMMIT + ended.commit(tasks, undoManager));
+        }
+        return textUi.showMessage_Str(Message.MESSAGE_ROLLBACK + ended.rollback(tasks));
+    }
+
+    /**
+     * Records the change a command made for undo. A command that made several changes, e.g. a script, cannot be
+     * undone, and neither can the changes before it.
+     *
+     * @param c the command that changed the list
+     * @param changes the changes the change is recorded in
+     */
+    private void recordChange(Command c, UndoManager changes) {
+        if (c.isUndoable() && seenVersion.isParentOf(tasks.getVersion())) {
+            changes.record(tasks.getVersion());
+        } else {
+            clearHistory();
+        }
+    }
+
+    /**
+     * Drops the changes that can be undone, in and before the transaction, as they no longer apply to the list.
+     */
+    private void clearHistory() {
+        undoManager.clear();
+        if (transaction != null) {
+            transaction.getChanges().clear();
+        }
+    }
+
+    /**
+     * Persists the changes that an undo or redo made to the list.
+     *
+     * @param count the number of changes, which is more than one for a transaction
+     * @param message the message for more than one change, which the number follows
+     * @return the message for the changes
+     */
+    private String persistChanges(int count, String message) throws DukeException {
+        if (count == 1) {
+            return persistChange(tasks.getVersion());
+        }
+        dukeStorage.writeToFile(tasks.snapshot());
+        return textUi.showMessage_Str(message + count);
+    }
+
+    /**
+     * Persists the change that an undo or redo made to the list.
+     *
+     * @param version the version after the change
+     * @return the message for the change
+     */
+    private String persistChange(TaskVersion version) throws DukeException {
+        List<Task> list = tasks.snapshot();
+        int index = version.getIndex();
+        Task changedTask = version.getTask();
+        switch (version.getChange()) {
+        case ADD:
+            changedTask = list.get(index);
+            if (index == list.size() - 1) {
+                dukeStorage.logAdd(changedTask, list);
+            } else {
+                dukeStorage.writeToFile(list);
+            }
+            break;
+        case DELETE:
+            dukeStorage.logDelete(index, list);
+            break;
+        case DONE:
+            changedTask = list.get(index);
+            dukeStorage.logDone(index, list);
+            break;
+        case UNDONE:
+            changedTask = list.get(index);
+            dukeStorage.logUndone(index, list);
+            break;
+        default:
+            dukeStorage.writeToFile(list);
+            break;
+        }
+        return textUi.showChange_Str(version.getChange(), changedTask, tasks);
+    }
+
     /**
      * Takes in the user inputs and excutes each command.
      */
     public void run() {
         textUi.showWelcome();
+        if (!dukeStorage.getLoadReport().isEmpty()) {
+            System.out.println(showLoadReport());
+        }
         boolean isExit = false;
         while (!isExit) {
             try {
@@ -82,18 +229,55 @@ public class Duke {
         exit();
     }
 
+    /**
+     * Starts Duke. With the arguments --script [FILE], the commands in the file are run, the list is saved once and
+     * Duke exits, instead of reading commands from the user.
+     *
+     * @param args command line input
+     */
     public static void main(String[] args) {
+        if (args.length == 2 && args[0].equals("--script")) {
+            new Duke().runScript(args[1]);
+            return;
+        }
         new Duke().run();
     }
 
+    /**
+     * Runs the commands in a script file and waits until the list is saved.
+     *
+     * @param filePath the path of the script file
+     */
+    public void runScript(String filePath) {
+        if (!dukeStorage.getLoadReport().isEmpty()) {
+            System.out.println(showLoadReport());
+        }
+        try {
+            System.out.println(new RunCommand(filePath).execute(tasks, textUi, dukeStorage));
+        } catch (DukeException e) {
+            textUi.showError(e.str1);
+        }
+        dukeStorage.close();
+    }
+
     /**
      * Ends the conversation and exits the system.
      */
     public void exit() {
         textUi.showGoodBye();
+        dukeStorage.close();
         System.exit(0);
     }
 
+    /**
+     * Returns the lines of the task file that could not be loaded at startup.
+     *
+     * @return a string of the lines, or an empty string if every line loaded
+     */
+    public String showLoadReport() {
+        return dukeStorage.getLoadReport().isEmpty() ? "" : textUi.showLoadReport_Str(dukeStorage.getLoadReport());
+    }
+
     public boolean isFinished() {
         return this.isFinished;
     }
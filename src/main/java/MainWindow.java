@@ -42,8 +42,17 @@ public class MainWindow extends AnchorPane {
         );
     }
 
+    /**
+     * Sets the Duke instance, and shows what could not be loaded from the task file if anything.
+     *
+     * @param d the Duke instance
+     */
     public void setDuke(Duke d) {
         duke = d;
+        String loadReport = duke.showLoadReport();
+        if (!loadReport.isEmpty()) {
+            dialogContainer.getChildren().add(DialogBox.getDukeDialog(loadReport, dukeImage));
+        }
     }
 
     /**
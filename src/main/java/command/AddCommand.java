@@ -1,6 +1,7 @@
 package command;
 
 import common.Storage;
+import task.Event;
 import task.Task;
 import task.TaskList;
 import exception.DukeException;
@@ -20,6 +21,7 @@ public class AddCommand extends Command {
 
     /**
      * Executes the "adding" type of commands.
+     * An added event is checked against the undone events, and the ones it overlaps are shown.
      *
      * @param tasks   A TaskList containing all tasks
      * @param textUi a TextUi object that handles user-system interaction
@@ -27,25 +29,15 @@ public class AddCommand extends Command {
      * @throws DukeException An exception which represents errors in duke input or storage
      */
     public String execute(TaskList tasks, TextUi textUi, Storage storage) throws DukeException {
-        tasks.add(this.thisTask);
-        storage.writeToFile(tasks.getList());
+        if (tasks.add(this.thisTask)) {
+            storage.logAdd(this.thisTask, tasks.snapshot());
+            if (this.thisTask instanceof Event) {
+                return textUi.showAddingTask_Str(thisTask, tasks, tasks.findOverlapping(this.thisTask));
+            }
+        }
         return textUi.showAddingTask_Str(thisTask, tasks);
     }
 
-    /**
-     * Undoes the previous add command.
-     * @param tasks A TaskList containing all tasks
-     * @param textUi a TextUi object that handles user-system interaction
-     * @param storage A Storage object which specifies the location of the data
-     * @return a string representing the result of undoing the last add command
-     * @throws DukeException when invalid user input is detected
-     */
-    public String undo(TaskList tasks, TextUi textUi, Storage storage) throws DukeException {
-        tasks.remove(this.thisTask);
-        storage.writeToFile(tasks.getList());
-        return textUi.showRemovingTask(this.thisTask, tasks);
-    }
-
     public boolean isExit() {
         return false;
     }
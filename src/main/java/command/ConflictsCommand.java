@@ -0,0 +1,42 @@
+package command;
+
+import common.Storage;
+import task.TaskList;
+import exception.DukeException;
+import ui.TextUi;
+
+/**
+ * Represents a command that shows every pair of undone events that overlap.
+ */
+public class ConflictsCommand extends Command {
+
+    public ConflictsCommand() {
+        super();
+    }
+
+    /**
+     * Executes the "showing conflicts" type of command.
+     *
+     * @param tasks   A TaskList containing all tasks
+     * @param textUi a TextUi object that handles user-system interaction
+     * @param storage A Storage object which specifies the location of the data
+     * @return the execution result in terms of a string
+     * @throws DukeException when invalid input is detected
+     */
+    public String execute(TaskList tasks, TextUi textUi, Storage storage) throws DukeException {
+        return textUi.showConflicts(tasks.findConflicts());
+    }
+
+    /**
+     * Returns whether the current command is an exit command.
+     *
+     * @return a boolean value representing the property of the current command
+     */
+    public boolean isExit() {
+        return false;
+    }
+
+    public boolean isUndoable() {
+        return false;
+    }
+}
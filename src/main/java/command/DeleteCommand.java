@@ -2,9 +2,9 @@ package command;
 
 import common.Message;
 import common.Storage;
-import task.Task;
 import ui.TextUi;
 import exception.DukeException;
+import task.Task;
 import task.TaskList;
 
 /**
@@ -13,8 +13,6 @@ import task.TaskList;
 public class DeleteCommand extends Command {
 
     protected int index;
-    protected Task deletedTask;
-    protected boolean isValid;
 
     /**
      * The constructor of class DeleteCommand.
@@ -23,7 +21,6 @@ public class DeleteCommand extends Command {
     public DeleteCommand(int index) {
         super();
         this.index = index - 1;
-        this.isValid = false;
     }
 
     /**
@@ -35,33 +32,12 @@ public class DeleteCommand extends Command {
      * @throws DukeException a duke exception representing errors in user input or storage
      */
     public String execute(TaskList tasks, TextUi textUi, Storage storage) throws DukeException {
-        if (this.index >= tasks.getList().size() || this.index < 0) {
+        Task deletedTask = tasks.delete(this.index);
+        if (deletedTask == null) {
             return textUi.showError_Str(Message.MESSAGE_INVALIDCOMMAND);
         }
-        this.isValid = true;
-        this.deletedTask = tasks.getList().get(this.index);
-        String res = textUi.showDeletingTask_Str(this.index, tasks);
-        tasks.delete(this.index);
-        storage.writeToFile(tasks.getList());
-        return res;
-    }
-
-    /**
-     * Undoes the deleting command.
-     *
-     * @param tasks A TaskList containing all tasks
-     * @param textUi a TextUi object that handles user-system interaction
-     * @param storage A Storage object which specifies the location of the data
-     * @return a string representing the adding back command.
-     * @throws DukeException when invalid user input is detected
-     */
-    public String undo(TaskList tasks, TextUi textUi, Storage storage) throws DukeException {
-        if (!this.isValid) {
-            return textUi.showError_Str(Message.MESSAGE_PREVIOUSINVALID);
-        }
-        tasks.add(this.deletedTask);
-        storage.writeToFile(tasks.getList());
-        return textUi.showAddingTask_Str(this.deletedTask, tasks);
+        storage.logDelete(this.index, tasks.snapshot());
+        return textUi.showDeletingTask_Str(deletedTask, tasks);
     }
 
     /**
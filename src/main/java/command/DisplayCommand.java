@@ -1,41 +1,56 @@
 package command;
 
-import common.Message;
 import common.Storage;
 import task.TaskList;
-import exception.DukeException;
 import ui.TextUi;
 
 /**
- * Represents a command that displays the task list.
+ * Represents a command that displays the task list, a page of it or a range of it.
  */
 public class DisplayCommand extends Command {
 
+    protected int from = 0;
+    protected int to = TextUi.LIST_PAGE_SIZE;
+    protected boolean isNextPage = false;
+
     public DisplayCommand() {
         super();
     }
 
     /**
-     * Executes the "display" type of commands.
+     * Constructor of the DisplayCommand class that shows the page after the one shown last.
      *
-     * @param tasks   A TaskList containing all tasks
-     * @param textUi a TextUi object that handles user-system interaction
-     * @param storage A Storage object which specifies the location of the data
+     * @param isNextPage whether to show the next page instead of the first one
      */
-    public String execute(TaskList tasks, TextUi textUi, Storage storage) {
-        return textUi.displayList_Str(tasks, storage);
+    public DisplayCommand(boolean isNextPage) {
+        super();
+        this.isNextPage = isNextPage;
     }
 
     /**
-     * Informs the user that display command cannot be undone.
-     * @param tasks A TaskList containing all tasks
+     * Constructor of the DisplayCommand class that shows a range of the list.
+     *
+     * @param from the index of the first task to show, inclusive
+     * @param to the index after the last task to show, exclusive
+     */
+    public DisplayCommand(int from, int to) {
+        super();
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Executes the "display" type of commands.
+     *
+     * @param tasks   A TaskList containing all tasks
      * @param textUi a TextUi object that handles user-system interaction
      * @param storage A Storage object which specifies the location of the data
-     * @return a string representing the result of undoing a display command
-     * @throws DukeException when invalid input is detected
      */
-    public String undo(TaskList tasks, TextUi textUi, Storage storage) throws DukeException {
-        return textUi.showError_Str(Message.MESSAGE_CANNOTUNDO);
+    public String execute(TaskList tasks, TextUi textUi, Storage storage) {
+        if (this.isNextPage) {
+            return textUi.displayNextPage_Str(tasks, storage);
+        }
+        return textUi.displayList_Str(tasks, storage, this.from, this.to);
     }
 
     /**
@@ -0,0 +1,55 @@
+package command;
+
+import common.Storage;
+import task.TaskList;
+import exception.DukeException;
+import ui.TextUi;
+
+import java.time.LocalDate;
+
+/**
+ * Represents a command that shows the undone deadlines due in a range of days, e.g. "due before 2026-10-25".
+ */
+public class DueCommand extends Command {
+
+    protected LocalDate from;
+    protected LocalDate to;
+
+    /**
+     * Constructor of the DueCommand class.
+     *
+     * @param from the first day of the range, or null for no first day
+     * @param to the last day of the range, or null for no last day
+     */
+    public DueCommand(LocalDate from, LocalDate to) {
+        super();
+        this.from = from;
+        this.to = to;
+    }
+
+    /**
+     * Executes the "showing due deadlines" type of command.
+     *
+     * @param tasks   A TaskList containing all tasks
+     * @param textUi a TextUi object that handles user-system interaction
+     * @param storage A Storage object which specifies the location of the data
+     * @return the execution result in terms of a string
+     * @throws DukeException when invalid input is detected
+     */
+    public String execute(TaskList tasks, TextUi textUi, Storage storage) throws DukeException {
+        return textUi.dueTasks(tasks, this.from, this.to);
+    }
+
+    /**
+     * Returns whether the current command is an exit command.
+     *
+     * @return a boolean value representing the property of the current command
+     */
+    public boolean isExit() {
+        return false;
+    }
+
+    public boolean isUndoable() {
+        return false;
+    }
+}
@@ -1,6 +1,5 @@
 package command;
 
-import common.Message;
 import common.Storage;
 import task.TaskList;
 import exception.DukeException;
@@ -30,19 +29,6 @@ public class FindCommand extends Command {
         return textUi.findList_Str(tasks, searchingItem);
     }
 
-    /**
-     * Informs the user that find command cannot be undone.
-     *
-     * @param tasks A TaskList containing all tasks
-     * @param textUi a TextUi object that handles user-system interaction
-     * @param storage A Storage object which specifies the location of the data
-     * @return a string representing the result of undoing the previous command
-     * @throws DukeException when errors or invalid input is detected
-     */
-    public String undo(TaskList tasks, TextUi textUi, Storage storage) throws DukeException {
-        return textUi.showError_Str(Message.MESSAGE_CANNOTUNDO);
-    }
-
     /**
      * Returns whether the current command is an exit command.
      *
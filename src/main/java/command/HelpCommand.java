@@ -1,9 +1,7 @@
 package command;
 
-import common.Message;
 import common.Storage;
 import task.TaskList;
-import exception.DukeException;
 import ui.TextUi;
 
 import java.util.ArrayList;
@@ -26,12 +24,28 @@ public class HelpCommand extends Command {
         commandList.add("deadline [NAME] /by [TIME] : add a deadline task with name and time");
         commandList.add("done [INDEX] : mark the task at the position of [INDEX] as done");
         commandList.add("delete [INDEX] : remove the task at the position of [INDEX]");
-        commandList.add("list : show all current tasks with status");
+        commandList.add("list : show the first " + TextUi.LIST_PAGE_SIZE + " tasks with status");
+        commandList.add("list next : show the next " + TextUi.LIST_PAGE_SIZE + " tasks");
+        commandList.add("list page [N] : show page [N] of the list, " + TextUi.LIST_PAGE_SIZE + " tasks a page");
+        commandList.add("list [A]-[B] : show the tasks from position [A] to [B]");
         commandList.add("reminders : show all current tasks that are undone");
         commandList.add("reminders todo : show all the current todo tasks that are undone");
         commandList.add("reminders event : show all the current events that are undone");
         commandList.add("reminders deadline : show all the current deadlines that are undone");
+        commandList.add("due before [DATE] : show the undone deadlines due before [DATE], e.g. 2026-10-25");
+        commandList.add("due between [DATE] [DATE] : show the undone deadlines due from the first to the last [DATE]");
+        commandList.add("overdue : show the undone deadlines that are past due");
+        commandList.add("conflicts : show every pair of undone events that overlap");
         commandList.add("find [KEYWORD] : search for and display all the tasks that contain the [KEYWORD]");
+        commandList.add("search [WORDS] : display the tasks containing all [WORDS]; "
+                + "end a word with * to match its prefix, separate alternatives with or");
+        commandList.add("undo : undo the last change to the list");
+        commandList.add("redo : redo the last change that was undone");
+        commandList.add("history : show how many changes can be undone and redone, and the memory they take");
+        commandList.add("run [FILE] : run the commands in [FILE], one a line, and save the list once at the end");
+        commandList.add("begin : start a transaction; its changes are saved together when it is committed");
+        commandList.add("commit : save the changes of the transaction, which are then undone as one change");
+        commandList.add("rollback : drop the changes of the transaction");
         commandList.add("help : show this helping sheet");
         commandList.add("bye (optional)[ANY POSTFIX] : exit the system");
     }
@@ -61,19 +75,6 @@ public class HelpCommand extends Command {
         return textUi.showHelpingPage(this.toHelpingList());
     }
 
-    /**
-     * Informs the user that help command cannot be undone.
-     *
-     * @param tasks A TaskList containing all tasks
-     * @param textUi a TextUi object that handles user-system interaction
-     * @param storage A Storage object which specifies the location of the data
-     * @return a string representing the result of undoing the previous commmand
-     * @throws DukeException when invalid input is detected
-     */
-    public String undo(TaskList tasks, TextUi textUi, Storage storage) throws DukeException {
-        return textUi.showError_Str(Message.MESSAGE_CANNOTUNDO);
-    }
-
     /**
      * Returns whether the current command is an exit command.
      *
@@ -0,0 +1,44 @@
+package command;
+
+import common.Storage;
+import task.TaskList;
+import exception.DukeException;
+import ui.TextUi;
+
+import java.time.LocalDateTime;
+
+/**
+ * Represents a command that shows the undone deadlines that are past due.
+ */
+public class OverdueCommand extends Command {
+
+    public OverdueCommand() {
+        super();
+    }
+
+    /**
+     * Executes the "showing overdue deadlines" type of command.
+     *
+     * @param tasks   A TaskList containing all tasks
+     * @param textUi a TextUi object that handles user-system interaction
+     * @param storage A Storage object which specifies the location of the data
+     * @return the execution result in terms of a string
+     * @throws DukeException when invalid input is detected
+     */
+    public String execute(TaskList tasks, TextUi textUi, Storage storage) throws DukeException {
+        return textUi.overdueTasks(tasks, LocalDateTime.now());
+    }
+
+    /**
+     * Returns whether the current command is an exit command.
+     *
+     * @return a boolean value representing the property of the current command
+     */
+    public boolean isExit() {
+        return false;
+    }
+
+    public boolean isUndoable() {
+        return false;
+    }
+}
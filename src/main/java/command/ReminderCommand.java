@@ -1,6 +1,5 @@
 package command;
 
-import common.Message;
 import common.Storage;
 import task.TaskList;
 import exception.DukeException;
@@ -44,19 +43,6 @@ public class ReminderCommand extends Command {
         }
     }
 
-    /**
-     * Informs the user that reminders command cannot be undone.
-     *
-     * @param tasks A TaskList containing all tasks
-     * @param textUi a TextUi object that handles user-system interaction
-     * @param storage A Storage object which specifies the location of the data
-     * @return a string representing the result of undoing the previous command
-     * @throws DukeException when invalid input is detected
-     */
-    public String undo(TaskList tasks, TextUi textUi, Storage storage) throws DukeException {
-        return textUi.showError_Str(Message.MESSAGE_CANNOTUNDO);
-    }
-
     /**
      * Returns whether the current command is an exit command.
      *
@@ -0,0 +1,132 @@
+package command;
+
+import common.Message;
+import common.Storage;
+import exception.DukeException;
+import parser.Parser;
+import task.TaskList;
+import ui.TextUi;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+
+/**
+ * Represents a command that runs the commands in a script file, one a line, against the task list.
+ * The commands run in a storage batch, so the list is written once at the end instead of once a command, or every
+ * few commands if a flush interval is given. Empty lines and lines starting with # are skipped. A line that fails
+ * does not stop the script; it is listed in the report.
+ */
+public class RunCommand extends Command {
+
+    protected String filePath;
+    protected int flushInterval;
+
+    /**
+     * Constructor of the RunCommand class.
+     * The duke.script.flush system property sets the number of commands after which the list is written, or 0 to
+     * write it only at the end.
+     *
+     * @param filePath the path of the script file
+     */
+    public RunCommand(String filePath) {
+        this(filePath, Integer.getInteger("duke.script.flush", 0));
+    }
+
+    /**
+     * Constructor of the RunCommand class.
+     *
+     * @param filePath the path of the script file
+     * @param flushInterval the number of commands after which the list is written, or 0 to write it only at the end
+     */
+    public RunCommand(String filePath, int flushInterval) {
+        super();
+        this.filePath = filePath;
+        this.flushInterval = flushInterval;
+    }
+
+    /**
+     * Executes the "running a script" type of commands.
+     *
+     * @param tasks   A TaskList containing all tasks
+     * @param textUi a TextUi object that handles user-system interaction
+     * @param storage A Storage object which specifies the location of the data
+     * @throws DukeException a duke exception representing errors in storage
+     */
+    public String execute(TaskList tasks, TextUi textUi, Storage storage) throws DukeException {
+        BufferedReader reader;
+        try {
+            reader = Files.newBufferedReader(Paths.get(this.filePath), StandardCharsets.UTF_8);
+        } catch (IOException | InvalidPathException exp) {
+            return textUi.showError_Str(Message.MESSAGE_NOSCRIPT + this.filePath);
+        }
+        ArrayList<Integer> failedLineNumbers = new ArrayList<>();
+        ArrayList<String> failedLines = new ArrayList<>();
+        int commandCount = 0;
+        int lineNumber = 0;
+        long start = System.nanoTime();
+        storage.beginBatch();
+        try (reader) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String input = line.trim();
+                if (input.isEmpty() || input.startsWith("#")) {
+                    continue;
+                }
+                commandCount++;
+                if (!runLine(input, tasks, textUi, storage)) {
+                    failedLineNumbers.add(lineNumber);
+                    failedLines.add(input);
+                }
+                if (this.flushInterval > 0 && commandCount % this.flushInterval == 0) {
+                    storage.flushBatch(tasks.snapshot());
+                }
+            }
+        } catch (IOException exp) {
+            // the rest of the file cannot be read; the commands that ran so far are still written below
+            failedLineNumbers.add(lineNumber + 1);
+            failedLines.add(Message.MESSAGE_NOSCRIPT + this.filePath);
+        } finally {
+            storage.endBatch(tasks.snapshot());
+        }
+        return textUi.showScriptReport_Str(this.filePath, commandCount, System.nanoTime() - start,
+                failedLineNumbers, failedLines);
+    }
+
+    /**
+     * Runs a line of the script.
+     *
+     * @return false if the command failed
+     */
+    private boolean runLine(String input, TaskList tasks, TextUi textUi, Storage storage) {
+        Command c = Parser.parse(input);
+        if (c instanceof ErrorCommand || c instanceof RunCommand || c.isExit()) {
+            // scripts do not run other scripts or end Duke
+            return false;
+        }
+        try {
+            return !textUi.isError_Str(c.execute(tasks, textUi, storage));
+        } catch (DukeException exp) {
+            return false;
+        }
+    }
+
+    /**
+     * Returns whether the current command is an exit command.
+     *
+     * @return a boolean value representing the property of the current command
+     */
+    public boolean isExit() {
+        return false;
+    }
+
+    public boolean isUndoable() {
+        return false;
+    }
+
+}
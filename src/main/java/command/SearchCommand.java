@@ -0,0 +1,45 @@
+package command;
+
+import common.Storage;
+import task.TaskList;
+import exception.DukeException;
+import ui.TextUi;
+
+/**
+ * Represents a command that searches the words of tasks, e.g. "search book* or project meeting".
+ */
+public class SearchCommand extends Command {
+
+    protected String query;
+
+    public SearchCommand(String query) {
+        super();
+        this.query = query;
+    }
+
+    /**
+     * Executes the "searching" type of commands.
+     *
+     * @param tasks   A TaskList containing all tasks
+     * @param textUi a TextUi object that handles user-system interaction
+     * @param storage A Storage object which specifies the location of the data
+     * @throws DukeException a duke exception representing errors in user input or storage
+     */
+    public String execute(TaskList tasks, TextUi textUi, Storage storage) throws DukeException {
+        return textUi.searchList_Str(tasks, this.query);
+    }
+
+    /**
+     * Returns whether the current command is an exit command.
+     *
+     * @return a boolean value representing the property of the current command
+     */
+    public boolean isExit() {
+        return false;
+    }
+
+    public boolean isUndoable() {
+        return false;
+    }
+
+}
@@ -0,0 +1,62 @@
+package command;
+
+import common.Message;
+import common.Storage;
+import task.TaskList;
+import ui.TextUi;
+
+/**
+ * Represents a command that begins, commits or rolls back a transaction.
+ * Transactions belong to the conversation with Duke, which keeps the undo history, so Duke carries these commands
+ * out itself; executing one on its own, e.g. in a script, only gives an error.
+ */
+public class TransactionCommand extends Command {
+
+    /**
+     * Represents the kinds of transaction command.
+     */
+    public enum Kind {
+        BEGIN, COMMIT, ROLLBACK
+    }
+
+    protected Kind kind;
+
+    /**
+     * Constructor of the TransactionCommand class.
+     *
+     * @param kind whether the command begins, commits or rolls back a transaction
+     */
+    public TransactionCommand(Kind kind) {
+        super();
+        this.kind = kind;
+    }
+
+    public Kind getKind() {
+        return this.kind;
+    }
+
+    /**
+     * Executes the command outside a conversation, which is not possible.
+     *
+     * @param tasks   A TaskList containing all tasks
+     * @param textUi a TextUi object that handles user-system interaction
+     * @param storage A Storage object which specifies the location of the data
+     */
+    public String execute(TaskList tasks, TextUi textUi, Storage storage) {
+        return textUi.showError_Str(Message.MESSAGE_NOTRANSACTIONS);
+    }
+
+    /**
+     * Returns whether the current command is an exit command.
+     *
+     * @return a boolean value representing the property of the current command
+     */
+    public boolean isExit() {
+        return false;
+    }
+
+    public boolean isUndoable() {
+        return false;
+    }
+
+}
@@ -0,0 +1,329 @@
+package common;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import task.Deadline;
+import task.Event;
+import task.Task;
+import task.Timing;
+import task.Todo;
+
+/**
+ * Represents the versioned binary snapshot format of a task list.
+ *
+ * <p>The file starts with the magic bytes DUKE, a short version, a long generation and an int record count. The
+ * generation changes with every new snapshot. Each record holds a type byte, a flag byte, the long ID of the task,
+ * the kind of its timing as a byte, the start and end of the timing as int minutes since the epoch, the name as
+ * length-prefixed UTF-8 and, for timings that are free text, the text as length-prefixed UTF-8. Only the current
+ * version is read; a file of any other version is rejected rather than guessed at.
+ *
+ * <p>The flag byte sits at a fixed offset in every record, so marking a task as done or deleting it is a single
+ * byte write. Deleted records stay in the file as tombstones until the next snapshot drops them, and new records
+ * are appended after the last one.
+ */
+public class BinarySnapshot {
+
+    public static final short VERSION = 5;
+    public static final int HEADER_SIZE = 18;
+    public static final int COUNT_OFFSET = 14;
+    public static final int FLAG_OFFSET = 1;
+
+    public static final byte TYPE_TASK = 0;
+    public static final byte TYPE_TODO = 1;
+    public static final byte TYPE_DEADLINE = 2;
+    public static final byte TYPE_EVENT = 3;
+
+    public static final byte TIMING_TEXT = 0;
+    public static final byte TIMING_DATE = 1;
+    public static final byte TIMING_DATE_TIME = 2;
+
+    public static final byte FLAG_DONE = 1;
+    public static final byte FLAG_DELETED = 2;
+
+    private static final byte[] MAGIC = {'D', 'U', 'K', 'E'};
+
+    /**
+     * Checks whether a file starts with the magic bytes of the binary format.
+     *
+     * @param path the path of the task file
+     * @return true if the file is a binary snapshot
+     * @throws IOException when the file cannot be read
+     */
+    public static boolean isBinary(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer head = ByteBuffer.allocate(MAGIC.length);
+            while (head.hasRemaining() && channel.read(head) > 0) {
+                // keep reading until the magic bytes are complete or the file ends
+            }
+            return !head.hasRemaining() && isMagic(head.array());
+        }
+    }
+
+    private static boolean isMagic(byte[] head) {
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (head[i] != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Encodes a task list into a snapshot.
+     *
+     * @param tasks the tasks in list order
+     * @param generation the generation of the snapshot
+     * @param layout the layout that receives the offsets of the records
+     * @return the bytes of the snapshot file
+     */
+    public static byte[] encode(List<Task> tasks, long generation, Layout layout) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(HEADER_SIZE + tasks.size() * 32);
+        DataOutputStream out = new DataOutputStream(bytes);
+        layout.clear();
+        layout.generation = generation;
+        try {
+            out.write(MAGIC);
+            out.writeShort(VERSION);
+            out.writeLong(generation);
+            out.writeInt(tasks.size());
+            for (Task task : tasks) {
+                layout.offsets.add((long) out.size());
+                writeRecord(out, task);
+            }
+        } catch (IOException exp) {
+            throw new AssertionError("writing to memory cannot fail", exp);
+        }
+        layout.end = out.size();
+        layout.recordCount = tasks.size();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodes a single task as a record.
+     *
+     * @param task the task
+     * @return the bytes of the record
+     */
+    public static byte[] encodeRecord(Task task) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(32);
+        try {
+            writeRecord(new DataOutputStream(bytes), task);
+        } catch (IOException exp) {
+            throw new AssertionError("writing to memory cannot fail", exp);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Encodes the flag byte of a record.
+     *
+     * @param isDone whether the task is done
+     * @param isDeleted whether the record is a tombstone
+     * @return the flag byte
+     */
+    public static byte toFlags(boolean isDone, boolean isDeleted) {
+        return (byte) ((isDone ? FLAG_DONE : 0) | (isDeleted ? FLAG_DELETED : 0));
+    }
+
+    /**
+     * Encodes the record count of the header.
+     *
+     * @param recordCount the number of records, tombstones included
+     * @return the bytes stored at COUNT_OFFSET
+     */
+    public static byte[] toCountBytes(int recordCount) {
+        return ByteBuffer.allocate(Integer.BYTES).putInt(recordCount).array();
+    }
+
+    private static void writeRecord(DataOutputStream out, Task task) throws IOException {
+        byte type;
+        Timing timing = null;
+        if (task instanceof Deadline) {
+            type = TYPE_DEADLINE;
+            timing = ((Deadline) task).getTiming();
+        } else if (task instanceof Event) {
+            type = TYPE_EVENT;
+            timing = ((Event) task).getTiming();
+        } else if (task instanceof Todo) {
+            type = TYPE_TODO;
+        } else {
+            type = TYPE_TASK;
+        }
+        out.writeByte(type);
+        out.writeByte(toFlags(task.isDone, false));
+        out.writeLong(task.getId());
+        if (timing != null && timing.hasDate()) {
+            out.writeByte(timing.hasTime() ? TIMING_DATE_TIME : TIMING_DATE);
+            out.writeInt(timing.getStartMinute());
+            out.writeInt(timing.getEndMinute());
+        } else {
+            out.writeByte(TIMING_TEXT);
+            out.writeInt(0);
+            out.writeInt(0);
+        }
+        // names are stored as they are, so a task read back, e.g. by undo, is the task that was written
+        writeString(out, task.name);
+        writeString(out, timing == null || timing.hasDate() ? "" : timing.getText());
+    }
+
+    private static void writeString(DataOutputStream out, String str) throws IOException {
+        byte[] utf8 = str.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(utf8.length);
+        out.write(utf8);
+    }
+
+    /**
+     * Reads the magic bytes, version, generation and record count at the start of a snapshot.
+     *
+     * @param buffer the bytes of the snapshot file, positioned at the start
+     * @param layout the layout that receives the version, generation and record count
+     * @throws IOException when the bytes are not a supported snapshot
+     */
+    public static void readHeader(ByteBuffer buffer, Layout layout) throws IOException {
+        try {
+            byte[] head = new byte[MAGIC.length];
+            buffer.get(head);
+            if (!isMagic(head)) {
+                throw new IOException("The task file is not a binary snapshot.");
+            }
+            layout.version = buffer.getShort();
+            if (layout.version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + layout.version + ", expected version "
+                        + VERSION + ".");
+            }
+            layout.generation = buffer.getLong();
+            layout.recordCount = buffer.getInt();
+        } catch (BufferUnderflowException exp) {
+            throw new IOException("The snapshot is truncated.", exp);
+        }
+    }
+
+    /**
+     * Decodes a snapshot, skipping tombstones.
+     * Bytes after the last counted record, e.g. from an append that was cut short, are ignored.
+     *
+     * @param buffer the bytes of the snapshot file
+     * @param layout the layout that receives the offsets of the live records
+     * @return an array list of tasks in file order
+     * @throws IOException when the bytes are not a supported snapshot
+     */
+    public static ArrayList<Task> decode(ByteBuffer buffer, Layout layout) throws IOException {
+        layout.clear();
+        readHeader(buffer, layout);
+        int count = layout.recordCount;
+        ArrayList<Task> builtList = new ArrayList<>(count);
+        byte[] scratch = new byte[256];
+        for (int i = 0; i < count; i++) {
+            long offset = buffer.position();
+            Task task = readRecord(buffer, scratch);
+            if (task == null) {
+                layout.tombstoneCount++;
+                continue;
+            }
+            layout.offsets.add(offset);
+            builtList.add(task);
+        }
+        layout.end = buffer.position();
+        return builtList;
+    }
+
+    /**
+     * Decodes a record at the position of a buffer and moves the position past it.
+     *
+     * @param buffer the bytes of the snapshot file, positioned at the start of a record
+     * @return the task of the record, or null if the record is a tombstone
+     * @throws IOException when the bytes are not a valid record
+     */
+    public static Task decodeRecord(ByteBuffer buffer) throws IOException {
+        return readRecord(buffer, new byte[256]);
+    }
+
+    private static Task readRecord(ByteBuffer buffer, byte[] scratch) throws IOException {
+        try {
+            byte type = buffer.get();
+            byte flags = buffer.get();
+            long id = buffer.getLong();
+            byte timingKind = buffer.get();
+            int startMinute = buffer.getInt();
+            int endMinute = buffer.getInt();
+            String name = readString(buffer, scratch);
+            String text = readString(buffer, scratch);
+            if ((flags & FLAG_DELETED) != 0) {
+                return null;
+            }
+            Timing timing;
+            if (timingKind != TIMING_TEXT) {
+                timing = Timing.ofEpochMinutes(startMinute, endMinute, timingKind == TIMING_DATE_TIME);
+            } else {
+                timing = Timing.ofText(text);
+            }
+            Task task = toTask(type, name, timing, (flags & FLAG_DONE) != 0);
+            task.setId(id);
+            return task;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException exp) {
+            throw new IOException("The snapshot is truncated.", exp);
+        }
+    }
+
+    private static String readString(ByteBuffer buffer, byte[] scratch) {
+        int length = buffer.getInt();
+        if (length == 0) {
+            return "";
+        }
+        byte[] utf8 = length <= scratch.length ? scratch : new byte[length];
+        buffer.get(utf8, 0, length);
+        return new String(utf8, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private static Task toTask(byte type, String name, Timing timing, boolean isDone) throws IOException {
+        switch (type) {
+        case TYPE_TODO:
+            return new Todo(name, isDone);
+        case TYPE_DEADLINE:
+            return new Deadline(name, timing, isDone);
+        case TYPE_EVENT:
+            return new Event(name, timing, isDone);
+        case TYPE_TASK:
+            return new Task(name, isDone);
+        default:
+            throw new IOException("Unknown task type " + type);
+        }
+    }
+
+    /**
+     * Represents where the records of a snapshot file are.
+     */
+    public static class Layout {
+
+        /** The format version of the file. */
+        public short version = VERSION;
+        /** The generation of the file. */
+        public long generation;
+        /** The offsets of the live records in list order. */
+        public ArrayList<Long> offsets = new ArrayList<>();
+        /** The offset after the last record, where the next record is appended. */
+        public long end;
+        /** The number of records in the file, tombstones included. */
+        public int recordCount;
+        /** The number of tombstones in the file. */
+        public int tombstoneCount;
+
+        private void clear() {
+            this.version = VERSION;
+            this.offsets.clear();
+            this.end = HEADER_SIZE;
+            this.recordCount = 0;
+            this.tombstoneCount = 0;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package common;
+
+/**
+ * Represents how long a mutation may stay in memory before Storage forces it to the disk.
+ */
+public enum Durability {
+
+    /** Every mutation is forced to the disk before the command returns. */
+    SYNC,
+
+    /** Mutations are forced to the disk in groups, every few milliseconds or every few mutations. */
+    GROUP,
+
+    /** Mutations are handed to the operating system and only forced to the disk when Storage is closed. */
+    ASYNC;
+
+    /**
+     * Converts the name of a durability mode, e.g. "group", to the mode.
+     *
+     * @param name the case-insensitive name of the mode
+     * @return the durability mode, or GROUP if the name is unknown
+     */
+    public static Durability fromName(String name) {
+        for (Durability durability : values()) {
+            if (durability.name().equalsIgnoreCase(name.trim())) {
+                return durability;
+            }
+        }
+        return GROUP;
+    }
+}
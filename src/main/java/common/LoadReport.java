@@ -0,0 +1,88 @@
+package common;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Represents what went wrong while loading a task file: the lines that are not tasks, with their line numbers.
+ * Such lines are skipped, so the rest of the file still loads. A file that cannot be read at all, e.g. a snapshot of
+ * another version, is reported as a failure instead.
+ */
+public class LoadReport {
+
+    private final ArrayList<Integer> lineNumbers = new ArrayList<>();
+    private final ArrayList<String> lines = new ArrayList<>();
+    private String failure;
+    private String backupPath;
+
+    /**
+     * Records a line that is not a task.
+     *
+     * @param lineNumber the number of the line, counting from 1
+     * @param line the text of the line
+     */
+    public void addMalformedLine(int lineNumber, String line) {
+        this.lineNumbers.add(lineNumber);
+        this.lines.add(line);
+    }
+
+    /**
+     * Records the malformed lines of another report, e.g. of a later chunk of the same file.
+     *
+     * @param other the other report
+     * @param lineOffset the number of lines before the first line of the other report
+     */
+    public void addAll(LoadReport other, int lineOffset) {
+        for (int i = 0; i < other.lineNumbers.size(); i++) {
+            addMalformedLine(other.lineNumbers.get(i) + lineOffset, other.lines.get(i));
+        }
+    }
+
+    /**
+     * Records why the file could not be read at all, so that none of its tasks were loaded.
+     *
+     * @param failure the reason, e.g. that the snapshot is of another version
+     */
+    public void setFailure(String failure) {
+        this.failure = failure;
+    }
+
+    /**
+     * Records where the file as it was is kept, before it is written over.
+     *
+     * @param backupPath the path of the copy
+     */
+    public void setBackupPath(String backupPath) {
+        this.backupPath = backupPath;
+    }
+
+    public boolean isEmpty() {
+        return this.lineNumbers.isEmpty() && this.failure == null;
+    }
+
+    /**
+     * Gets why the file could not be read at all.
+     *
+     * @return the reason, or null if the file was read
+     */
+    public String getFailure() {
+        return this.failure;
+    }
+
+    /**
+     * Gets where the file as it was is kept.
+     *
+     * @return the path of the copy, or null if no copy could be made, in which case the file is not written over
+     */
+    public String getBackupPath() {
+        return this.backupPath;
+    }
+
+    public List<Integer> getLineNumbers() {
+        return this.lineNumbers;
+    }
+
+    public List<String> getLines() {
+        return this.lines;
+    }
+}
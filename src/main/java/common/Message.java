@@ -24,11 +24,31 @@ public class Message {
     public static final String MESSAGE_NULL = "     Sorry, but I cannot find matching items.";
     public static final String MESSAGE_SHOWRELATED = "     Here are all related undone tasks:";
     public static final String MESSAGE_NOTHING = "you have nothing left in the list.";
+    public static final String MESSAGE_OVERLAPS = "     Note that it overlaps these undone events:";
+    public static final String MESSAGE_CONFLICTS = "     Here are the undone events that overlap:";
+    public static final String MESSAGE_NOCONFLICTS = "     None of your undone events overlap.";
     public static final String MESSAGE_REMOVE = "     Got it. I've removed this task: ";
-    public static final String MESSAGE_PREVIOUSINVALID = "     Sorry, the previous command was invalid\n"
-            + "     It cannot be undone.";
-    public static final String MESSAGE_CANNOTUNDO = "     Sorry, the previous command was\n"
-            + "     not suitable to be undone";
+    public static final String MESSAGE_NOTHINGTOUNDO = "     Sorry, there is no change to undo.";
+    public static final String MESSAGE_NOTHINGTOREDO = "     Sorry, there is no undone change to redo.";
+    public static final String MESSAGE_MALFORMEDLINES =
+            "     These lines of the task file are not tasks, so I skipped them:";
+    public static final String MESSAGE_UNREADABLEFILE = "     I cannot read the task file, so no task was loaded: ";
+    public static final String MESSAGE_BACKUP = "     The file as it was is kept in ";
+    public static final String MESSAGE_NOBACKUP =
+            "     I could not keep a copy of the file, so I will not write over it or save any change.";
+    public static final String MESSAGE_NOTSAVED = "The task file could not be backed up, so changes are not saved.";
+    public static final String MESSAGE_OOPS = "     :( OOPS!!! ";
+    public static final String MESSAGE_NOSCRIPT = "I cannot read the script file ";
+    public static final String MESSAGE_SCRIPTFAILURES = "     These lines of the script failed:";
+    public static final String MESSAGE_BEGIN = "     Started a transaction. Its changes are saved when you commit.";
+    public static final String MESSAGE_COMMIT = "     Committed the transaction. Changes saved: ";
+    public static final String MESSAGE_ROLLBACK = "     Rolled back the transaction. Changes dropped: ";
+    public static final String MESSAGE_INTRANSACTION = "A transaction is already open; commit or roll it back first.";
+    public static final String MESSAGE_NOTRANSACTION = "There is no open transaction.";
+    public static final String MESSAGE_NOTRANSACTIONS = "Transactions can only be used while talking to Duke.";
+    public static final String MESSAGE_NOSCRIPTINTRANSACTION = "A script cannot run inside a transaction.";
+    public static final String MESSAGE_UNDIDCHANGES = "     Undid the changes of a transaction: ";
+    public static final String MESSAGE_REDIDCHANGES = "     Redid the changes of a transaction: ";
     public static final String MESSAGE_STARTHELP = "Type 'help' if you are not sure what to say";
     public static final String MESSAGE_SHOWHELPINGPAGE = "Here are the basic commands that you can call:\n"
             + "[] - for user-defined input\n";
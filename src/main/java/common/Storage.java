@@ -1,67 +1,494 @@
 package common;
 
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.util.Scanner;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.ArrayList;
+import java.util.List;
 
-import parser.FileParser;
 import exception.DukeException;
 import task.Task;
+import task.TaskList;
 
 /**
  * Represents a storage object.
+ * The task file is a binary snapshot, see BinarySnapshot; files in the old text format are migrated on load.
+ * In incremental mode, marking a task as done or undone and deleting a task overwrite the flag byte of its record,
+ * and adding a task appends a record. Deleted records are reclaimed by writing a new snapshot once enough of them
+ * pile up. All writes are performed by a background StorageWriter, and the durability mode decides how long a
+ * command waits for them.
+ * A StorageWatcher remembers the file as Storage left it, so a task list only has to be read again when the file
+ * was changed by someone else.
+ * Inside a batch, see beginBatch, mutations are not written at all; the whole list is written once when the batch
+ * is flushed or ends.
  */
 public class Storage {
 
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+
+    private static final String BACKUP_SUFFIX = ".bak";
+
     private String filePath;
+    private boolean isIncremental;
+    private int compactionThreshold;
+    private TaskFileLoader loader;
+    private StorageWriter writer;
+    private StorageWatcher watcher;
+    private BinarySnapshot.Layout layout;
+    private boolean isMigrationNeeded;
+    private boolean isWriteRefused;
+    private LoadReport loadReport = new LoadReport();
+    private int batchDepth;
+    private boolean hasBatchedChanges;
 
     /**
      * Constructor of the class Storage.
      *
      * @param filePath the file path of the storage file
+     * @param isIncremental whether mutations update single records instead of rewriting the file
+     * @param compactionThreshold the number of deleted records that triggers a new snapshot
+     * @param durability when mutations are forced to the disk
      */
-    public Storage(String filePath) {
+    public Storage(String filePath, boolean isIncremental, int compactionThreshold, Durability durability) {
+        assert compactionThreshold > 0 : "compaction threshold must be positive";
         this.filePath = filePath;
+        this.isIncremental = isIncremental;
+        this.compactionThreshold = compactionThreshold;
+        this.loader = new TaskFileLoader();
+        this.watcher = new StorageWatcher(Paths.get(filePath));
+        this.writer = new StorageWriter(filePath, durability,
+                StorageWriter.DEFAULT_GROUP_MILLIS, StorageWriter.DEFAULT_GROUP_SIZE, this.watcher);
+        this.layout = new BinarySnapshot.Layout();
     }
 
     /**
      * Reads from the storage file and generates an array list of task objects.
+     * A task file in the old text format is migrated to a snapshot. The lines of a text file that are not tasks are
+     * skipped and listed in the load report, and the text file is kept as a backup before it is migrated. A snapshot
+     * that cannot be read, e.g. one of another version, is reported and kept as a backup the same way. If the backup
+     * cannot be made, the file is not written over, and every later write fails.
      *
      * @return an array list of tasks based on the file content
      */
     public ArrayList<Task> readFromFile() {
         try {
-            String thisLine;
-            ArrayList<Task> builtList = new ArrayList<>();
-            File f = new File(this.filePath);
-            Scanner fileScanner = new Scanner(f);
-            while (fileScanner.hasNext()) {
-                thisLine = fileScanner.nextLine();
-                builtList.add(new FileParser(thisLine).lineToTask());
+            this.writer.flush();
+        } catch (DukeException exp) {
+            // the file keeps its last good state, which is what is read below
+        }
+        this.isMigrationNeeded = false;
+        this.isWriteRefused = false;
+        this.loadReport = new LoadReport();
+        ArrayList<Task> builtList = readSnapshot();
+        assignMissingIds(builtList);
+        if (this.isMigrationNeeded && !this.isWriteRefused) {
+            try {
+                writeToFile(builtList);
+            } catch (DukeException exp) {
+                // the old files are kept and read again on the next start
             }
-            return builtList;
+        }
+        return builtList;
+    }
+
+    /**
+     * Brings a task list up to date with the storage file.
+     * Nothing is read unless the file was changed by someone else since Storage last wrote or read it, as told by its
+     * time and size; see StorageWatcher for the edits this misses. A change within the records of the current
+     * snapshot only decodes the records in the changed blocks and the records appended after them; any other change,
+     * e.g. a new snapshot, reads the whole file again.
+     *
+     * @param tasks the task list that was read from or written to the storage file
+     * @return true if the task list was changed
+     * @throws DukeException when an earlier write failed
+     */
+    public boolean refresh(TaskList tasks) throws DukeException {
+        if (this.hasBatchedChanges) {
+            // the list holds changes the file does not have yet, and they are written over the file anyway
+            return false;
+        }
+        this.writer.flush();
+        if (!this.watcher.isChanged()) {
+            return false;
+        }
+        ByteBuffer buffer;
+        try {
+            buffer = this.watcher.read();
         } catch (IOException exp) {
-            return new ArrayList<>();
+            tasks.renewList(readFromFile());
+            return true;
         }
+        BitSet changedBlocks = this.watcher.findChangedBlocks(buffer);
+        if (changedBlocks.isEmpty()) {
+            this.watcher.accept(buffer);
+            return false;
+        }
+        ArrayList<Task> refreshedList = new ArrayList<>(tasks.snapshot());
+        if (reloadChangedRecords(buffer, changedBlocks, refreshedList)) {
+            tasks.renewList(refreshedList);
+            this.watcher.accept(buffer);
+        } else {
+            tasks.renewList(readFromFile());
+        }
+        return true;
     }
 
     /**
      * Writes to the file based on the content of the array list of tasks.
+     * The new snapshot has no deleted records and gets a new generation.
+     *
+     * @param existedList the task list
+     * @throws DukeException when the storage file cannot be accessed
+     */
+    public void writeToFile(List<Task> existedList) throws DukeException {
+        if (isBatching()) {
+            return;
+        }
+        checkWritable();
+        byte[] snapshot = BinarySnapshot.encode(existedList, this.layout.generation + 1, this.layout);
+        this.writer.replace(snapshot);
+    }
+
+    /**
+     * Starts a batch: until it ends, mutations are only remembered, and the list is written once at the end.
+     * Batches nest; only the end of the outermost batch writes the list.
+     */
+    public void beginBatch() {
+        this.batchDepth++;
+    }
+
+    /**
+     * Writes the list if it was changed since the batch started or was last flushed, and keeps the batch open.
+     *
+     * @param existedList the task list
+     * @throws DukeException when the storage file cannot be accessed
+     */
+    public void flushBatch(List<Task> existedList) throws DukeException {
+        assert this.batchDepth > 0 : "flushing a batch that was not started";
+        if (!this.hasBatchedChanges) {
+            return;
+        }
+        checkWritable();
+        byte[] snapshot = BinarySnapshot.encode(existedList, this.layout.generation + 1, this.layout);
+        this.writer.replace(snapshot);
+        this.hasBatchedChanges = false;
+    }
+
+    /**
+     * Ends a batch, and writes the list if this was the outermost batch and the list was changed in it.
      *
      * @param existedList the task list
      * @throws DukeException when the storage file cannot be accessed
      */
-    public void writeToFile(ArrayList<Task> existedList) throws DukeException {
+    public void endBatch(List<Task> existedList) throws DukeException {
+        assert this.batchDepth > 0 : "ending a batch that was not started";
         try {
-            FileWriter fw = new FileWriter(this.filePath);
-            for (Task task : existedList) {
-                fw.write(task.toStringFileFormat() + "\n");
+            if (this.batchDepth == 1) {
+                flushBatch(existedList);
             }
-            fw.close();
+        } finally {
+            this.batchDepth--;
+        }
+    }
+
+    /**
+     * Ends a batch without writing the list, e.g. when its changes were rolled back. The list must be as it was when
+     * the batch started, as the file is left as it was then.
+     */
+    public void discardBatch() {
+        assert this.batchDepth > 0 : "discarding a batch that was not started";
+        this.batchDepth--;
+        if (this.batchDepth == 0) {
+            this.hasBatchedChanges = false;
+        }
+    }
+
+    /**
+     * Checks whether mutations are held back by a batch, and remembers that the list was changed if so.
+     */
+    private boolean isBatching() {
+        if (this.batchDepth == 0) {
+            return false;
+        }
+        this.hasBatchedChanges = true;
+        return true;
+    }
+
+    /**
+     * Gets the report of the last time the storage file was read.
+     *
+     * @return the report, which lists the lines of a text file that are not tasks
+     */
+    public LoadReport getLoadReport() {
+        return this.loadReport;
+    }
+
+    /**
+     * Waits until every write is forced to the disk, stops the background writer and stops watching the file.
+     */
+    public void close() {
+        this.writer.close();
+        this.watcher.close();
+    }
+
+    /**
+     * Persists a task that has been appended to the task list.
+     * The record is appended to the file and the record count in the header is updated.
+     *
+     * @param addedTask the newly added task
+     * @param existedList the task list after the task was added
+     * @throws DukeException when the storage file cannot be accessed
+     */
+    public void logAdd(Task addedTask, List<Task> existedList) throws DukeException {
+        if (isBatching()) {
+            return;
+        }
+        if (!this.isIncremental) {
+            writeToFile(existedList);
+            return;
+        }
+        checkWritable();
+        byte[] record = BinarySnapshot.encodeRecord(addedTask);
+        this.writer.writeAt(this.layout.end, record);
+        this.layout.offsets.add(this.layout.end);
+        this.layout.end += record.length;
+        this.layout.recordCount++;
+        this.writer.writeAt(BinarySnapshot.COUNT_OFFSET, BinarySnapshot.toCountBytes(this.layout.recordCount));
+    }
+
+    /**
+     * Persists the deletion of a task from the task list by turning its record into a tombstone.
+     *
+     * @param index the index of the deleted task
+     * @param existedList the task list after the task was deleted
+     * @throws DukeException when the storage file cannot be accessed
+     */
+    public void logDelete(int index, List<Task> existedList) throws DukeException {
+        if (isBatching()) {
+            return;
+        }
+        if (!this.isIncremental) {
+            writeToFile(existedList);
+            return;
+        }
+        long offset = this.layout.offsets.remove(index);
+        this.layout.tombstoneCount++;
+        if (this.layout.tombstoneCount >= this.compactionThreshold) {
+            writeToFile(existedList);
+            return;
+        }
+        writeFlags(offset, false, true);
+    }
+
+    /**
+     * Persists a task that has been marked as done.
+     *
+     * @param index the index of the task being done
+     * @param existedList the task list after the task was marked as done
+     * @throws DukeException when the storage file cannot be accessed
+     */
+    public void logDone(int index, List<Task> existedList) throws DukeException {
+        if (isBatching()) {
+            return;
+        }
+        if (!this.isIncremental) {
+            writeToFile(existedList);
+            return;
+        }
+        writeFlags(this.layout.offsets.get(index), true, false);
+    }
+
+    /**
+     * Persists a task that has been marked as undone.
+     *
+     * @param index the index of the task being undone
+     * @param existedList the task list after the task was marked as undone
+     * @throws DukeException when the storage file cannot be accessed
+     */
+    public void logUndone(int index, List<Task> existedList) throws DukeException {
+        if (isBatching()) {
+            return;
+        }
+        if (!this.isIncremental) {
+            writeToFile(existedList);
+            return;
+        }
+        writeFlags(this.layout.offsets.get(index), false, false);
+    }
+
+    private void writeFlags(long offset, boolean isDone, boolean isDeleted) throws DukeException {
+        checkWritable();
+        byte[] flags = {BinarySnapshot.toFlags(isDone, isDeleted)};
+        this.writer.writeAt(offset + BinarySnapshot.FLAG_OFFSET, flags);
+    }
+
+    /**
+     * Fails a write to a file that could not be read and could not be backed up, which would lose the file.
+     */
+    private void checkWritable() throws DukeException {
+        if (this.isWriteRefused) {
+            throw new DukeException(Message.MESSAGE_NOTSAVED);
+        }
+    }
+
+    /**
+     * Decodes the records of the current snapshot that lie in changed blocks, and the records appended after the
+     * last known one.
+     *
+     * @param buffer the current bytes of the storage file
+     * @param changedBlocks the blocks that differ from what Storage last wrote or read
+     * @param builtList the list that the changed records are applied to
+     * @return false if the file is no longer an extension of the current snapshot and has to be read again
+     */
+    private boolean reloadChangedRecords(ByteBuffer buffer, BitSet changedBlocks, ArrayList<Task> builtList) {
+        BinarySnapshot.Layout header = new BinarySnapshot.Layout();
+        try {
+            BinarySnapshot.readHeader(buffer.duplicate(), header);
         } catch (IOException exp) {
-            throw new DukeException("IOException detected");
+            return false;
         }
+        if (header.generation != this.layout.generation
+                || header.recordCount < this.layout.recordCount || buffer.limit() < this.layout.end) {
+            return false;
+        }
+        BitSet changedRecords = findRecordsIn(changedBlocks);
+        Task[] changedTasks = new Task[builtList.size()];
+        ArrayList<Task> appendedTasks = new ArrayList<>();
+        ArrayList<Long> appendedOffsets = new ArrayList<>();
+        int appendedTombstones = 0;
+        ByteBuffer records = buffer.duplicate();
+        try {
+            for (int i = changedRecords.nextSetBit(0); i >= 0; i = changedRecords.nextSetBit(i + 1)) {
+                records.position(Math.toIntExact(this.layout.offsets.get(i)));
+                changedTasks[i] = BinarySnapshot.decodeRecord(records);
+            }
+            records.position(Math.toIntExact(this.layout.end));
+            for (int i = this.layout.recordCount; i < header.recordCount; i++) {
+                long offset = records.position();
+                Task task = BinarySnapshot.decodeRecord(records);
+                if (task == null) {
+                    appendedTombstones++;
+                    continue;
+                }
+                appendedOffsets.add(offset);
+                appendedTasks.add(task);
+            }
+        } catch (IOException | IllegalArgumentException | ArithmeticException exp) {
+            return false;
+        }
+        // apply the changes only once every record was decoded, deleting from the back keeps the indexes valid
+        for (int i = changedRecords.previousSetBit(builtList.size() - 1); i >= 0;
+                i = changedRecords.previousSetBit(i - 1)) {
+            if (changedTasks[i] == null) {
+                builtList.remove(i);
+                this.layout.offsets.remove(i);
+                this.layout.tombstoneCount++;
+            } else {
+                builtList.set(i, changedTasks[i]);
+            }
+        }
+        builtList.addAll(appendedTasks);
+        this.layout.offsets.addAll(appendedOffsets);
+        this.layout.tombstoneCount += appendedTombstones;
+        this.layout.end = records.position();
+        this.layout.recordCount = header.recordCount;
+        return true;
+    }
+
+    /**
+     * Finds the live records whose bytes overlap the given blocks of the file.
+     *
+     * @param blocks the blocks of the file
+     * @return the indexes of the records in list order
+     */
+    private BitSet findRecordsIn(BitSet blocks) {
+        BitSet found = new BitSet();
+        ArrayList<Long> offsets = this.layout.offsets;
+        for (int block = blocks.nextSetBit(0); block >= 0; block = blocks.nextSetBit(block + 1)) {
+            long blockStart = (long) block * StorageWatcher.BLOCK_SIZE;
+            long blockEnd = blockStart + StorageWatcher.BLOCK_SIZE;
+            if (blockStart >= this.layout.end) {
+                break;
+            }
+            // the record that covers the start of the block begins at the last offset not after it
+            int index = Collections.binarySearch(offsets, blockStart);
+            index = index >= 0 ? index : Math.max(0, -index - 2);
+            while (index < offsets.size() && offsets.get(index) < blockEnd) {
+                found.set(index);
+                index++;
+            }
+        }
+        return found;
     }
+
+    /**
+     * Numbers the tasks that were read without an ID, i.e. from the old text format, after the highest ID in
+     * the list.
+     *
+     * @param builtList the tasks read from the files
+     */
+    private void assignMissingIds(ArrayList<Task> builtList) {
+        long nextId = Task.NO_ID + 1;
+        for (Task task : builtList) {
+            nextId = Math.max(nextId, task.getId() + 1);
+        }
+        for (Task task : builtList) {
+            if (task.getId() == Task.NO_ID) {
+                task.setId(nextId++);
+                this.isMigrationNeeded = true;
+            }
+        }
+    }
+
+    private ArrayList<Task> readSnapshot() {
+        Path path = new File(this.filePath).toPath();
+        try {
+            if (BinarySnapshot.isBinary(path)) {
+                ByteBuffer buffer = this.watcher.read();
+                ArrayList<Task> builtList;
+                try {
+                    builtList = BinarySnapshot.decode(buffer, this.layout);
+                } catch (IOException exp) {
+                    // e.g. a snapshot of another version, which is kept before an empty list is written over it
+                    this.loadReport.setFailure(exp.getMessage());
+                    backUp(path);
+                    throw exp;
+                }
+                this.watcher.accept(buffer);
+                return builtList;
+            }
+            ArrayList<Task> builtList = this.loader.load(path, this.loadReport);
+            this.isMigrationNeeded = true;
+            if (!this.loadReport.isEmpty()) {
+                backUp(path);
+            }
+            return builtList;
+        } catch (IOException exp) {
+            this.isMigrationNeeded = true;
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Copies a task file that could not be loaded in full before it is migrated, as the migrated file leaves the
+     * malformed lines or records out. If the copy cannot be made, the file is not written over.
+     *
+     * @param path the path of the task file
+     */
+    private void backUp(Path path) {
+        String backupPath = this.filePath + BACKUP_SUFFIX;
+        try {
+            Files.copy(path, Paths.get(backupPath), StandardCopyOption.REPLACE_EXISTING);
+            this.loadReport.setBackupPath(backupPath);
+        } catch (IOException exp) {
+            this.isWriteRefused = true;
+        }
+    }
+
 }
@@ -0,0 +1,229 @@
+package common;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.zip.CRC32;
+
+/**
+ * Represents what Storage knows about the content of its task file.
+ * The writer reports every write, so the modification time, size and per-block checksums of the file as Storage
+ * left it are always known. A change by anyone else is noticed through a WatchService, confirmed by the time and
+ * size, and located by comparing block checksums.
+ * The checksums are only compared once the time or size differ, so that a list is not read for every check. An
+ * edit that keeps the size of the file and lands within the resolution of its modification time, e.g. one
+ * second on some file systems, is therefore not noticed until the file changes again.
+ */
+public class StorageWatcher {
+
+    public static final int BLOCK_SIZE = 4096;
+
+    private Path path;
+    private WatchService watchService;
+    private boolean isEventPending;
+
+    private FileTime knownModified;
+    private long knownSize;
+    private int[] knownChecksums;
+
+    /**
+     * Constructor of the StorageWatcher class.
+     * Without a WatchService, every check falls back to comparing the time and size of the file.
+     *
+     * @param path the path of the task file
+     */
+    public StorageWatcher(Path path) {
+        this.path = path.toAbsolutePath();
+        this.knownModified = null;
+        this.knownSize = -1;
+        this.knownChecksums = new int[0];
+        this.isEventPending = true;
+        try {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            this.path.getParent().register(this.watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        } catch (IOException | UnsupportedOperationException exp) {
+            this.watchService = null;
+        }
+    }
+
+    /**
+     * Records a snapshot that replaced the file.
+     *
+     * @param snapshot the bytes of the new file
+     */
+    public synchronized void recordSnapshot(byte[] snapshot) {
+        this.knownChecksums = new int[blockCount(snapshot.length)];
+        for (int block = 0; block < this.knownChecksums.length; block++) {
+            int start = block * BLOCK_SIZE;
+            this.knownChecksums[block] = checksum(snapshot, start, Math.min(snapshot.length, start + BLOCK_SIZE));
+        }
+        recordStat();
+    }
+
+    /**
+     * Records positioned writes by reading the blocks they touched back from the file.
+     *
+     * @param channel a channel of the task file
+     * @param dirtyBlocks the blocks that were written to
+     * @throws IOException when the file cannot be read
+     */
+    public synchronized void recordWrites(FileChannel channel, BitSet dirtyBlocks) throws IOException {
+        long size = channel.size();
+        this.knownChecksums = Arrays.copyOf(this.knownChecksums, blockCount(size));
+        ByteBuffer block = ByteBuffer.allocate(BLOCK_SIZE);
+        for (int i = dirtyBlocks.nextSetBit(0); i >= 0 && i < this.knownChecksums.length;
+                i = dirtyBlocks.nextSetBit(i + 1)) {
+            block.clear();
+            long position = (long) i * BLOCK_SIZE;
+            while (block.hasRemaining() && position < size) {
+                int read = channel.read(block, position);
+                if (read < 0) {
+                    break;
+                }
+                position += read;
+            }
+            this.knownChecksums[i] = checksum(block.array(), 0, block.position());
+        }
+        recordStat();
+    }
+
+    /**
+     * Checks whether the file may have been changed by anyone else since it was last recorded.
+     *
+     * @return true if the time or size of the file differ from what Storage left; a change that keeps both is missed
+     */
+    public synchronized boolean isChanged() {
+        pollEvents();
+        if (!this.isEventPending) {
+            return false;
+        }
+        try {
+            if (Files.getLastModifiedTime(this.path).equals(this.knownModified)
+                    && Files.size(this.path) == this.knownSize) {
+                this.isEventPending = this.watchService == null;
+                return false;
+            }
+        } catch (IOException exp) {
+            return this.knownSize != -1;
+        }
+        return true;
+    }
+
+    /**
+     * Compares the block checksums of the file with the recorded ones.
+     *
+     * @param buffer the current bytes of the file
+     * @return the blocks whose content differs, including blocks that were added or removed
+     */
+    public synchronized BitSet findChangedBlocks(ByteBuffer buffer) {
+        int[] checksums = checksums(buffer);
+        BitSet changed = new BitSet();
+        for (int i = 0; i < Math.max(checksums.length, this.knownChecksums.length); i++) {
+            if (i >= checksums.length || i >= this.knownChecksums.length || checksums[i] != this.knownChecksums[i]) {
+                changed.set(i);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Records the current content of the file as known, after Storage has caught up with it.
+     *
+     * @param buffer the current bytes of the file
+     */
+    public synchronized void accept(ByteBuffer buffer) {
+        this.knownChecksums = checksums(buffer);
+        recordStat();
+    }
+
+    /**
+     * Reads the task file, e.g. to find the blocks of a change.
+     * The file is read rather than mapped, as a live mapping keeps the next write from being renamed over the file
+     * on some platforms, e.g. Windows.
+     *
+     * @return the bytes of the file
+     * @throws IOException when the file cannot be read
+     */
+    public ByteBuffer read() throws IOException {
+        return TaskFileLoader.readAll(this.path);
+    }
+
+    /**
+     * Stops watching the file. Later checks fall back to comparing the time and size of the file.
+     */
+    public synchronized void close() {
+        if (this.watchService == null) {
+            return;
+        }
+        try {
+            this.watchService.close();
+        } catch (IOException exp) {
+            // the service is dropped either way
+        }
+        this.watchService = null;
+        this.isEventPending = true;
+    }
+
+    private void pollEvents() {
+        if (this.watchService == null) {
+            this.isEventPending = true;
+            return;
+        }
+        WatchKey key;
+        while ((key = this.watchService.poll()) != null) {
+            for (WatchEvent<?> event : key.pollEvents()) {
+                Object context = event.context();
+                if (event.kind() == StandardWatchEventKinds.OVERFLOW
+                        || (context instanceof Path && this.path.getFileName().equals(context))) {
+                    this.isEventPending = true;
+                }
+            }
+            key.reset();
+        }
+    }
+
+    private void recordStat() {
+        try {
+            this.knownModified = Files.getLastModifiedTime(this.path);
+            this.knownSize = Files.size(this.path);
+        } catch (IOException exp) {
+            this.knownModified = null;
+            this.knownSize = -1;
+        }
+    }
+
+    private static int[] checksums(ByteBuffer buffer) {
+        ByteBuffer bytes = buffer.duplicate();
+        bytes.rewind();
+        int[] checksums = new int[blockCount(bytes.limit())];
+        CRC32 crc = new CRC32();
+        for (int i = 0; i < checksums.length; i++) {
+            bytes.limit(Math.min(buffer.limit(), (i + 1) * BLOCK_SIZE));
+            crc.reset();
+            crc.update(bytes);
+            checksums[i] = (int) crc.getValue();
+        }
+        return checksums;
+    }
+
+    private static int checksum(byte[] bytes, int start, int end) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, start, end - start);
+        return (int) crc.getValue();
+    }
+
+    private static int blockCount(long size) {
+        return (int) ((size + BLOCK_SIZE - 1) / BLOCK_SIZE);
+    }
+}
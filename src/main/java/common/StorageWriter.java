@@ -0,0 +1,308 @@
+package common;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.BitSet;
+
+import exception.DukeException;
+
+/**
+ * Represents the single background thread that performs every write of a Storage.
+ * Writes submitted while the thread is busy are coalesced: they are forced to the disk together, and a snapshot
+ * makes all writes submitted before it redundant.
+ */
+public class StorageWriter {
+
+    public static final long DEFAULT_GROUP_MILLIS = 50;
+    public static final int DEFAULT_GROUP_SIZE = 64;
+
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    private Path snapshotPath;
+    private Durability durability;
+    private long groupMillis;
+    private int groupSize;
+    private StorageWatcher watcher;
+
+    private ArrayDeque<Write> pending;
+    private long submittedCount;
+    private long forcedCount;
+    private long forceRequest;
+    private boolean isClosing;
+    private IOException failure;
+
+    private Thread thread;
+    private FileChannel data;
+    private int unforcedCount;
+    private long lastForced;
+
+    /**
+     * Constructor of the StorageWriter class.
+     *
+     * @param filePath the file path of the snapshot
+     * @param durability when mutations are forced to the disk
+     * @param groupMillis the longest time a mutation stays unforced in GROUP mode
+     * @param groupSize the largest number of unforced mutations in GROUP mode
+     * @param watcher the watcher that is told about every write
+     */
+    public StorageWriter(String filePath, Durability durability, long groupMillis, int groupSize,
+            StorageWatcher watcher) {
+        this.snapshotPath = Paths.get(filePath);
+        this.durability = durability;
+        this.groupMillis = groupMillis;
+        this.groupSize = groupSize;
+        this.watcher = watcher;
+        this.pending = new ArrayDeque<>();
+        this.lastForced = System.currentTimeMillis();
+        this.thread = new Thread(this::run, "storage-writer");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * Writes bytes at a position of the current snapshot.
+     *
+     * @param position the offset in the snapshot file
+     * @param bytes the bytes to write
+     * @throws DukeException when this or an earlier write failed
+     */
+    public void writeAt(long position, byte[] bytes) throws DukeException {
+        assert position >= 0 : "position must not be negative";
+        submit(new Write(position, bytes));
+    }
+
+    /**
+     * Replaces the snapshot.
+     *
+     * @param snapshot the encoded snapshot
+     * @throws DukeException when this or an earlier write failed
+     */
+    public void replace(byte[] snapshot) throws DukeException {
+        submit(new Write(-1, snapshot));
+    }
+
+    /**
+     * Waits until every submitted write is forced to the disk.
+     *
+     * @throws DukeException when a write failed
+     */
+    public synchronized void flush() throws DukeException {
+        awaitForced(this.submittedCount);
+    }
+
+    /**
+     * Drains the pending writes, forces them to the disk and stops the thread.
+     */
+    public void close() {
+        synchronized (this) {
+            if (this.isClosing) {
+                return;
+            }
+            this.isClosing = true;
+            notifyAll();
+        }
+        try {
+            this.thread.join();
+        } catch (InterruptedException exp) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void submit(Write write) throws DukeException {
+        checkFailure();
+        if (this.isClosing) {
+            throw new DukeException("Storage is closed.");
+        }
+        this.pending.add(write);
+        this.submittedCount++;
+        notifyAll();
+        if (this.durability == Durability.SYNC) {
+            awaitForced(this.submittedCount);
+        }
+    }
+
+    private void awaitForced(long count) throws DukeException {
+        this.forceRequest = Math.max(this.forceRequest, count);
+        notifyAll();
+        while (this.forcedCount < count && this.failure == null && this.thread.isAlive()) {
+            try {
+                wait();
+            } catch (InterruptedException exp) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        checkFailure();
+    }
+
+    private void checkFailure() throws DukeException {
+        if (this.failure != null) {
+            this.failure = null;
+            throw new DukeException("IOException detected");
+        }
+    }
+
+    private void run() {
+        while (true) {
+            ArrayList<Write> batch;
+            long batchEnd;
+            boolean isForced;
+            synchronized (this) {
+                while (this.pending.isEmpty() && !this.isClosing && !isForceDue()) {
+                    try {
+                        if (this.unforcedCount > 0 && this.durability == Durability.GROUP) {
+                            wait(Math.max(1, this.lastForced + this.groupMillis - System.currentTimeMillis()));
+                        } else {
+                            wait();
+                        }
+                    } catch (InterruptedException exp) {
+                        this.isClosing = true;
+                    }
+                }
+                batch = new ArrayList<>(this.pending);
+                this.pending.clear();
+                batchEnd = this.submittedCount;
+                isForced = this.isClosing || this.forceRequest > this.forcedCount;
+            }
+            try {
+                write(batch);
+                this.unforcedCount += batch.size();
+                if (isForced || this.durability == Durability.SYNC || isGroupFull()) {
+                    force();
+                }
+                synchronized (this) {
+                    if (this.unforcedCount == 0) {
+                        this.forcedCount = batchEnd;
+                    }
+                    notifyAll();
+                    if (this.isClosing && this.pending.isEmpty()) {
+                        break;
+                    }
+                }
+            } catch (IOException exp) {
+                this.unforcedCount = 0;
+                closeData();
+                synchronized (this) {
+                    this.failure = exp;
+                    notifyAll();
+                    if (this.isClosing && this.pending.isEmpty()) {
+                        break;
+                    }
+                }
+            }
+        }
+        closeData();
+    }
+
+    private boolean isForceDue() {
+        return this.unforcedCount > 0 && (this.forceRequest > this.forcedCount || isGroupFull());
+    }
+
+    private boolean isGroupFull() {
+        return this.durability == Durability.GROUP && (this.unforcedCount >= this.groupSize
+                || System.currentTimeMillis() - this.lastForced >= this.groupMillis);
+    }
+
+    /**
+     * Performs a batch of writes, skipping every write that a later snapshot in the batch contains.
+     *
+     * @param batch the writes in submission order
+     * @throws IOException when the files cannot be accessed
+     */
+    private void write(ArrayList<Write> batch) throws IOException {
+        int start = 0;
+        for (int i = batch.size() - 1; i >= 0; i--) {
+            if (batch.get(i).position < 0) {
+                start = i;
+                break;
+            }
+        }
+        BitSet dirtyBlocks = new BitSet();
+        for (int i = start; i < batch.size(); i++) {
+            Write write = batch.get(i);
+            if (write.position < 0) {
+                writeSnapshot(write.bytes);
+                this.watcher.recordSnapshot(write.bytes);
+                continue;
+            }
+            if (this.data == null) {
+                this.data = FileChannel.open(this.snapshotPath, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            }
+            ByteBuffer bytes = ByteBuffer.wrap(write.bytes);
+            long position = write.position;
+            while (bytes.hasRemaining()) {
+                position += this.data.write(bytes, position);
+            }
+            dirtyBlocks.set((int) (write.position / StorageWatcher.BLOCK_SIZE),
+                    (int) ((position - 1) / StorageWatcher.BLOCK_SIZE) + 1);
+        }
+        if (!dirtyBlocks.isEmpty()) {
+            this.watcher.recordWrites(this.data, dirtyBlocks);
+        }
+    }
+
+    /**
+     * Moves a new snapshot over the old one.
+     *
+     * @param snapshot the encoded snapshot
+     * @throws IOException when the files cannot be accessed
+     */
+    private void writeSnapshot(byte[] snapshot) throws IOException {
+        Path temp = Paths.get(this.snapshotPath + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer bytes = ByteBuffer.wrap(snapshot);
+            while (bytes.hasRemaining()) {
+                channel.write(bytes);
+            }
+            if (this.durability != Durability.ASYNC) {
+                channel.force(true);
+            }
+        }
+        closeData();
+        Files.move(temp, this.snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private void force() throws IOException {
+        if (this.data != null) {
+            this.data.force(false);
+        }
+        this.unforcedCount = 0;
+        this.lastForced = System.currentTimeMillis();
+    }
+
+    private void closeData() {
+        if (this.data == null) {
+            return;
+        }
+        try {
+            this.data.force(false);
+            this.data.close();
+        } catch (IOException exp) {
+            // the writes are already handed to the operating system
+        }
+        this.data = null;
+    }
+
+    /**
+     * Represents one submitted write: bytes at a position of the snapshot, or a whole new snapshot.
+     */
+    private static class Write {
+
+        private long position;
+        private byte[] bytes;
+
+        Write(long position, byte[] bytes) {
+            this.position = position;
+            this.bytes = bytes;
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package common;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+import parser.FileParser;
+import task.Task;
+
+/**
+ * Represents a bulk loader that reads a task file into memory and parses line-aligned chunks of it in parallel.
+ * Each line is decoded straight from the bytes of the file. The file is read into a heap buffer rather than mapped,
+ * as a live mapping keeps a new snapshot from being renamed over the file on some platforms, e.g. Windows.
+ * A line that is not a task is skipped and recorded in a LoadReport with its line number, so one bad line does not
+ * stop the rest of the file from loading.
+ */
+public class TaskFileLoader {
+
+    /** Files smaller than this are parsed on the calling thread. */
+    private static final int MIN_CHUNK_SIZE = 64 * 1024;
+
+    private ForkJoinPool pool;
+
+    public TaskFileLoader() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    public TaskFileLoader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Loads every task of the file in file order, skipping the lines that are not tasks.
+     *
+     * @param path the path of the task file
+     * @return an array list of tasks based on the file content
+     * @throws IOException when the file cannot be read
+     */
+    public ArrayList<Task> load(Path path) throws IOException {
+        return load(path, new LoadReport());
+    }
+
+    /**
+     * Loads every task of the file in file order, and records the lines that are not tasks.
+     *
+     * @param path the path of the task file
+     * @param report the report the malformed lines are added to
+     * @return an array list of tasks based on the file content
+     * @throws IOException when the file cannot be read
+     */
+    public ArrayList<Task> load(Path path, LoadReport report) throws IOException {
+        ByteBuffer buffer = readAll(path);
+        int size = buffer.limit();
+        if (size == 0) {
+            return new ArrayList<>();
+        }
+        List<int[]> chunks = split(buffer, size);
+        if (chunks.size() == 1) {
+            Chunk chunk = parse(buffer, 0, size);
+            report.addAll(chunk.report, 0);
+            return chunk.tasks;
+        }
+        List<ChunkTask> jobs = new ArrayList<>(chunks.size());
+        for (int[] chunk : chunks) {
+            jobs.add(new ChunkTask(buffer, chunk[0], chunk[1]));
+        }
+        return this.pool.submit(() -> {
+            for (ChunkTask job : jobs) {
+                job.fork();
+            }
+            ArrayList<Task> builtList = new ArrayList<>();
+            int lineOffset = 0;
+            for (ChunkTask job : jobs) {
+                Chunk chunk = job.join();
+                builtList.addAll(chunk.tasks);
+                report.addAll(chunk.report, lineOffset);
+                lineOffset += chunk.lineCount;
+            }
+            return builtList;
+        }).join();
+    }
+
+    /**
+     * Reads a whole file into a heap buffer.
+     *
+     * @param path the path of the file
+     * @return the bytes of the file, from position 0 to the limit
+     * @throws IOException when the file cannot be read, or is too large for a buffer
+     */
+    static ByteBuffer readAll(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("The task file is too large to be read.");
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // read until the buffer is full or the file ends, e.g. because it was cut short meanwhile
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    /**
+     * Splits the buffer into chunks that start right after a line break, one or more per worker.
+     *
+     * @param buffer the bytes of the file
+     * @param size the size of the file
+     * @return a list of {start, end} offsets covering the whole buffer
+     */
+    private List<int[]> split(ByteBuffer buffer, int size) {
+        int chunkCount = Math.max(1, Math.min(this.pool.getParallelism() * 4, size / MIN_CHUNK_SIZE));
+        int chunkSize = size / chunkCount;
+        List<int[]> chunks = new ArrayList<>(chunkCount);
+        int start = 0;
+        while (start < size) {
+            int end = Math.min(size, start + chunkSize);
+            while (end < size && buffer.get(end - 1) != '\n') {
+                end++;
+            }
+            chunks.add(new int[] {start, end});
+            start = end;
+        }
+        return chunks;
+    }
+
+    /**
+     * Parses the lines between two offsets of the buffer.
+     *
+     * @param buffer the bytes of the file
+     * @param start the offset of the first byte of the chunk
+     * @param end the offset after the last byte of the chunk
+     * @return the tasks of the chunk in file order, and its malformed lines numbered from the start of the chunk
+     */
+    private static Chunk parse(ByteBuffer buffer, int start, int end) {
+        Chunk chunk = new Chunk();
+        FileParser fileParser = new FileParser();
+        int lineStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i < end && buffer.get(i) != '\n') {
+                continue;
+            }
+            if (i < end) {
+                chunk.lineCount++;
+            }
+            if (!isBlank(buffer, lineStart, i)) {
+                Task task;
+                try {
+                    task = fileParser.decode(buffer, lineStart, i);
+                } catch (RuntimeException exp) {
+                    task = null;
+                }
+                if (task == null) {
+                    int lineNumber = i < end ? chunk.lineCount : chunk.lineCount + 1;
+                    chunk.report.addMalformedLine(lineNumber, toString(buffer, lineStart, i));
+                } else {
+                    chunk.tasks.add(task);
+                }
+            }
+            lineStart = i + 1;
+        }
+        return chunk;
+    }
+
+    private static boolean isBlank(ByteBuffer buffer, int start, int end) {
+        for (int i = start; i < end; i++) {
+            if ((buffer.get(i) & 0xFF) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String toString(ByteBuffer buffer, int start, int end) {
+        ByteBuffer bytes = buffer.duplicate();
+        bytes.limit(end).position(start);
+        return StandardCharsets.UTF_8.decode(bytes).toString().trim();
+    }
+
+    /**
+     * Represents the result of parsing one chunk.
+     */
+    private static class Chunk {
+
+        private final ArrayList<Task> tasks = new ArrayList<>();
+        private final LoadReport report = new LoadReport();
+        private int lineCount;
+    }
+
+    /**
+     * Represents the parsing of one chunk on the fork-join pool.
+     */
+    private static class ChunkTask extends RecursiveTask<Chunk> {
+
+        private static final long serialVersionUID = 1L;
+
+        private ByteBuffer buffer;
+        private int start;
+        private int end;
+
+        ChunkTask(ByteBuffer buffer, int start, int end) {
+            this.buffer = buffer;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected Chunk compute() {
+            return parse(this.buffer, this.start, this.end);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package common;
+
+import exception.DukeException;
+import task.TaskList;
+
+/**
+ * Represents a transaction: the changes made to a TaskList between begin and commit or rollback.
+ * The changes are made to the list in memory while the storage file keeps the list as it was, as the transaction
+ * holds a storage batch open. Committing writes the list once; rolling back undoes the changes one by one, so it
+ * takes time in the number of changes rather than the size of the list, and leaves the file untouched.
+ * The changes are not isolated: until the transaction ends they are in the live list, so list, search and any other
+ * thread sharing the list see them before they are committed, and see them go away on a rollback.
+ */
+public class Transaction {
+
+    private final Storage storage;
+    private final UndoManager changes = new UndoManager(Integer.MAX_VALUE, Long.MAX_VALUE);
+
+    /**
+     * Begins a transaction.
+     *
+     * @param storage the storage of the list
+     */
+    public Transaction(Storage storage) {
+        this.storage = storage;
+        this.storage.beginBatch();
+    }
+
+    /**
+     * Gets the changes made in the transaction, which can be undone and redone before it ends.
+     *
+     * @return the changes
+     */
+    public UndoManager getChanges() {
+        return this.changes;
+    }
+
+    /**
+     * Writes the list, and records the changes of the transaction in the undo history as one change.
+     *
+     * @param tasks the list
+     * @param history the undo history outside the transaction
+     * @return the number of changes
+     * @throws DukeException when the storage file cannot be accessed
+     */
+    public int commit(TaskList tasks, UndoManager history) throws DukeException {
+        int count = this.changes.getUndoCount();
+        history.recordAll(this.changes);
+        this.storage.endBatch(tasks.snapshot());
+        return count;
+    }
+
+    /**
+     * Undoes the changes of the transaction, newest first, and leaves the storage file as it was.
+     *
+     * @param tasks the list
+     * @return the number of changes
+     */
+    public int rollback(TaskList tasks) {
+        int count = this.changes.getUndoCount();
+        while (this.changes.undo(tasks)) {
+            // each undo reverts one change
+        }
+        this.storage.discardBatch();
+        return count;
+    }
+}
@@ -0,0 +1,328 @@
+package common;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import task.Task;
+import task.TaskList;
+import task.TaskVersion;
+
+/**
+ * Represents the changes to a TaskList that can be undone and redone, kept as compact deltas: an op code, the ID of
+ * the task, its index, and the record of the task while the task is out of the list, e.g. after it was deleted or
+ * its adding was undone. The deltas are kept oldest first in a ring of primitive arrays, so a change costs about
+ * ENTRY_BYTES plus the record it holds. The oldest changes are dropped once more can be undone than allowed, or once
+ * the deltas are estimated to take more memory than allowed.
+ * Several changes can be recorded as one, e.g. the changes of a transaction: the op code of every change but the
+ * first has the JOINED bit, and the changes are undone, redone and dropped together.
+ */
+public class UndoManager {
+
+    public static final byte OP_ADD = 1;
+    public static final byte OP_DELETE = 2;
+    public static final byte OP_DONE = 3;
+    public static final byte OP_UNDONE = 4;
+
+    /** Set in the op code of a change that is undone and redone together with the change before it. */
+    private static final byte JOINED = 8;
+
+    /** The estimated bytes of a delta without its record: the op code, ID, index and record reference. */
+    public static final int ENTRY_BYTES = 1 + 8 + 4 + 4;
+
+    private static final int ARRAY_HEADER_BYTES = 16;
+
+    private final int maxUndoSteps;
+    private final long maxBytes;
+    private byte[] ops;
+    private long[] ids;
+    private int[] indexes;
+    private byte[][] records;
+    private int oldest;
+    private int undoCount;
+    private int redoCount;
+    private long recordBytes;
+
+    /**
+     * Constructor of the UndoManager class.
+     *
+     * @param maxUndoSteps the number of changes that can be undone at most
+     * @param maxBytes the estimated memory the deltas may take
+     */
+    public UndoManager(int maxUndoSteps, long maxBytes) {
+        this.maxUndoSteps = Math.max(0, maxUndoSteps);
+        this.maxBytes = maxBytes;
+        int capacity = Math.max(1, Math.min(16, this.maxUndoSteps));
+        this.ops = new byte[capacity];
+        this.ids = new long[capacity];
+        this.indexes = new int[capacity];
+        this.records = new byte[capacity][];
+    }
+
+    /**
+     * Records the change that made a version of a list from its parent. The changes that could have been redone are
+     * dropped; a version that was loaded, rather than changed, drops every change.
+     *
+     * @param version the version after the change
+     */
+    public void record(TaskVersion version) {
+        byte op;
+        switch (version.getChange()) {
+        case ADD:
+            op = OP_ADD;
+            break;
+        case DELETE:
+            op = OP_DELETE;
+            break;
+        case DONE:
+            op = OP_DONE;
+            break;
+        case UNDONE:
+            op = OP_UNDONE;
+            break;
+        default:
+            clear();
+            return;
+        }
+        dropRedo();
+        if (this.maxUndoSteps == 0) {
+            return;
+        }
+        push(op, version.getTask().getId(), version.getIndex(),
+                op == OP_DELETE ? encode(version.getTask(), version.isTaskDone()) : null);
+        dropOverBudget();
+    }
+
+    /**
+     * Records the changes that can be undone in another UndoManager, e.g. those of a transaction, as one change.
+     * The changes that could have been redone are dropped. If the changes are more than can be undone, every change
+     * is dropped, as the changes before them cannot be undone without undoing them first.
+     *
+     * @param changes the changes, which are not used afterwards
+     */
+    public void recordAll(UndoManager changes) {
+        if (changes.undoCount == 0) {
+            return;
+        }
+        dropRedo();
+        if (changes.undoCount > this.maxUndoSteps) {
+            clear();
+            return;
+        }
+        for (int i = 0; i < changes.undoCount; i++) {
+            int from = changes.positionOf(i);
+            byte op = (byte) (changes.opAt(from) | (i > 0 ? JOINED : 0));
+            push(op, changes.ids[from], changes.indexes[from], changes.records[from]);
+        }
+        dropOverBudget();
+    }
+
+    /**
+     * Appends a change after the changes that can be undone, making room for it.
+     */
+    private void push(byte op, long id, int index, byte[] record) {
+        if (this.undoCount == this.ops.length) {
+            if (this.ops.length < this.maxUndoSteps) {
+                grow();
+            } else {
+                dropOldest();
+            }
+        }
+        int position = positionOf(this.undoCount);
+        this.ops[position] = op;
+        this.ids[position] = id;
+        this.indexes[position] = index;
+        setRecord(position, record);
+        this.undoCount++;
+    }
+
+    private void dropOverBudget() {
+        while (this.undoCount > 0 && getRetainedBytes() > this.maxBytes) {
+            dropOldest();
+        }
+    }
+
+    /**
+     * Reverts the last change that was not undone.
+     *
+     * @param tasks the list the change was made to
+     * @return true if a change was undone, false if there is nothing to undo
+     */
+    public boolean undo(TaskList tasks) {
+        if (this.undoCount == 0) {
+            return false;
+        }
+        boolean isJoined;
+        do {
+            int position = positionOf(this.undoCount - 1);
+            isJoined = (this.ops[position] & JOINED) != 0;
+            switch (opAt(position)) {
+            case OP_ADD:
+                takeOut(tasks, position);
+                break;
+            case OP_DELETE:
+                putBack(tasks, position);
+                break;
+            case OP_DONE:
+                tasks.unDone(tasks.get(tasks.indexOf(this.ids[position])));
+                break;
+            default:
+                tasks.done(tasks.indexOf(this.ids[position]));
+                break;
+            }
+            this.undoCount--;
+            this.redoCount++;
+        } while (isJoined && this.undoCount > 0);
+        return true;
+    }
+
+    /**
+     * Applies the last change that was undone again.
+     *
+     * @param tasks the list the change was made to
+     * @return true if a change was redone, false if there is nothing to redo
+     */
+    public boolean redo(TaskList tasks) {
+        if (this.redoCount == 0) {
+            return false;
+        }
+        do {
+            int position = positionOf(this.undoCount);
+            switch (opAt(position)) {
+            case OP_ADD:
+                putBack(tasks, position);
+                break;
+            case OP_DELETE:
+                takeOut(tasks, position);
+                break;
+            case OP_DONE:
+                tasks.done(tasks.indexOf(this.ids[position]));
+                break;
+            default:
+                tasks.unDone(tasks.get(tasks.indexOf(this.ids[position])));
+                break;
+            }
+            this.undoCount++;
+            this.redoCount--;
+        } while (this.redoCount > 0 && (this.ops[positionOf(this.undoCount)] & JOINED) != 0);
+        return true;
+    }
+
+    /**
+     * Drops every change.
+     */
+    public void clear() {
+        for (int i = 0; i < this.undoCount + this.redoCount; i++) {
+            this.records[positionOf(i)] = null;
+        }
+        this.undoCount = 0;
+        this.redoCount = 0;
+        this.recordBytes = 0;
+    }
+
+    public int getUndoCount() {
+        return this.undoCount;
+    }
+
+    public int getRedoCount() {
+        return this.redoCount;
+    }
+
+    /**
+     * Estimates the memory the kept changes take.
+     *
+     * @return the estimated bytes
+     */
+    public long getRetainedBytes() {
+        return (long) (this.undoCount + this.redoCount) * ENTRY_BYTES + this.recordBytes;
+    }
+
+    /**
+     * Deletes the task of a delta from the list and keeps its record, so it can be put back.
+     */
+    private void takeOut(TaskList tasks, int position) {
+        int index = tasks.indexOf(this.ids[position]);
+        Task task = tasks.get(index);
+        setRecord(position, encode(task, task.isDone));
+        tasks.delete(index);
+    }
+
+    /**
+     * Inserts the task of a delta back at its index, and drops its record.
+     */
+    private void putBack(TaskList tasks, int position) {
+        Task task;
+        try {
+            task = BinarySnapshot.decodeRecord(ByteBuffer.wrap(this.records[position]));
+        } catch (IOException exp) {
+            throw new AssertionError("a record encoded in memory is valid", exp);
+        }
+        setRecord(position, null);
+        tasks.insert(this.indexes[position], task);
+    }
+
+    private static byte[] encode(Task task, boolean isDone) {
+        byte[] record = BinarySnapshot.encodeRecord(task);
+        record[BinarySnapshot.FLAG_OFFSET] = BinarySnapshot.toFlags(isDone, false);
+        return record;
+    }
+
+    private void setRecord(int position, byte[] record) {
+        this.recordBytes -= sizeOf(this.records[position]);
+        this.records[position] = record;
+        this.recordBytes += sizeOf(record);
+    }
+
+    private static long sizeOf(byte[] record) {
+        return record == null ? 0 : ARRAY_HEADER_BYTES + record.length;
+    }
+
+    private void dropRedo() {
+        while (this.redoCount > 0) {
+            this.redoCount--;
+            setRecord(positionOf(this.undoCount + this.redoCount), null);
+        }
+    }
+
+    /**
+     * Drops the oldest change, with the changes joined to it.
+     */
+    private void dropOldest() {
+        do {
+            setRecord(this.oldest, null);
+            this.oldest = (this.oldest + 1) % this.ops.length;
+            this.undoCount--;
+        } while (this.undoCount > 0 && (this.ops[this.oldest] & JOINED) != 0);
+    }
+
+    private byte opAt(int position) {
+        return (byte) (this.ops[position] & ~JOINED);
+    }
+
+    private int positionOf(int age) {
+        return (this.oldest + age) % this.ops.length;
+    }
+
+    /**
+     * Doubles the ring, up to the number of changes that can be undone, moving the deltas to its start.
+     */
+    private void grow() {
+        int count = this.undoCount + this.redoCount;
+        int capacity = (int) Math.min((long) this.ops.length * 2, this.maxUndoSteps);
+        byte[] newOps = new byte[capacity];
+        long[] newIds = new long[capacity];
+        int[] newIndexes = new int[capacity];
+        byte[][] newRecords = new byte[capacity][];
+        for (int i = 0; i < count; i++) {
+            int position = positionOf(i);
+            newOps[i] = this.ops[position];
+            newIds[i] = this.ids[position];
+            newIndexes[i] = this.indexes[position];
+            newRecords[i] = this.records[position];
+        }
+        this.ops = newOps;
+        this.ids = newIds;
+        this.indexes = newIndexes;
+        this.records = newRecords;
+        this.oldest = 0;
+    }
+}
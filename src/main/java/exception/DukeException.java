@@ -22,6 +22,6 @@ public class DukeException extends Exception {
      * This method converts a exception.DukeException instance to a string.
      */
     public String toString() {
-        return (Message.MESSAGE_LINE + "\n" + "     :( OOPS!!! " + this.str1 + "\n" + Message.MESSAGE_LINE);
+        return (Message.MESSAGE_LINE + "\n" + Message.MESSAGE_OOPS + this.str1 + "\n" + Message.MESSAGE_LINE);
     }
 }
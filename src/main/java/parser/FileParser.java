@@ -1,53 +1,165 @@
 package parser;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
 import task.Task;
 import task.Todo;
 import task.Event;
 import task.Deadline;
 
 /**
- * Represents a file parser that converts between strings and command objects.
+ * Represents a decoder of the lines of the text task file, e.g. "D | 0 | return book | Oct 18 2026".
+ * The fields are found by walking the characters for the " | " delimiters, without a regular expression, and only
+ * the name and the timing are copied out of the line. One FileParser decodes any number of lines, reusing its
+ * buffers, so it must not be shared between threads.
+ * A line that is not a task, e.g. one with too few fields, decodes to null rather than failing.
  */
 public class FileParser {
 
-    private String thisLine;
+    private static final int MIN_FIELDS = 3;
+    private static final int TIMED_FIELDS = 4;
+
+    private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final int[] fieldStarts = new int[TIMED_FIELDS];
+    private final int[] fieldEnds = new int[TIMED_FIELDS];
+    private char[] chars = new char[256];
+    private CharBuffer charBuffer = CharBuffer.wrap(this.chars);
+
+    /**
+     * Decodes a line of UTF-8 bytes.
+     *
+     * @param buffer the buffer holding the line, whose position and limit are left as they were
+     * @param start the offset of the first byte of the line
+     * @param end the offset after the last byte of the line, without the line break
+     * @return the task, or null if the line is not a task
+     */
+    public Task decode(ByteBuffer buffer, int start, int end) {
+        ByteBuffer bytes = buffer.duplicate();
+        bytes.limit(end).position(start);
+        // a byte decodes to at most one char in UTF-8
+        ensureCapacity(end - start);
+        this.charBuffer.clear();
+        this.decoder.reset();
+        this.decoder.decode(bytes, this.charBuffer, true);
+        this.decoder.flush(this.charBuffer);
+        return decode(this.chars, this.charBuffer.position());
+    }
 
     /**
-     * Constructor of the file parser.
+     * Decodes a line.
      *
-     * @param str the string stored in the file
+     * @param line the line
+     * @return the task, or null if the line is not a task
      */
-    public FileParser(String str) {
-        this.thisLine = str.trim();
+    public Task decode(String line) {
+        ensureCapacity(line.length());
+        line.getChars(0, line.length(), this.chars, 0);
+        return decode(this.chars, line.length());
+    }
+
+    private Task decode(char[] line, int length) {
+        int start = 0;
+        int end = length;
+        while (start < end && line[start] <= ' ') {
+            start++;
+        }
+        while (end > start && line[end - 1] <= ' ') {
+            end--;
+        }
+        int fieldCount = findFields(line, start, end);
+        if (fieldCount < MIN_FIELDS) {
+            return null;
+        }
+        boolean isDone = isTrimmed(line, 1, '1');
+        String name = trimmedField(line, 2);
+        if (isTrimmed(line, 0, 'T')) {
+            return new Todo(name, isDone);
+        }
+        boolean isEvent = isTrimmed(line, 0, 'E');
+        if (!isEvent && !isTrimmed(line, 0, 'D')) {
+            return new Task(name, isDone);
+        }
+        if (fieldCount < TIMED_FIELDS) {
+            return null;
+        }
+        String duration = new String(line, this.fieldStarts[3], this.fieldEnds[3] - this.fieldStarts[3]);
+        return isEvent ? new Event(name, duration, isDone) : new Deadline(name, duration, isDone);
     }
 
     /**
-     * Converts a string in the file to command objects.
+     * Finds the first fields of a trimmed line, as String.split(" \\| ") would: the last field always has text, as
+     * the line does not end with a space.
      *
-     * @return a task object depending on the content of the string
+     * @return the number of fields, counting at most TIMED_FIELDS
      */
-    public Task lineToTask() {
+    private int findFields(char[] line, int start, int end) {
+        if (start == end) {
+            return 0;
+        }
+        int count = 0;
+        this.fieldStarts[0] = start;
+        int i = start;
+        while (i + 2 < end && count + 1 < TIMED_FIELDS) {
+            if (line[i] == ' ' && line[i + 1] == '|' && line[i + 2] == ' ') {
+                this.fieldEnds[count] = i;
+                count++;
+                this.fieldStarts[count] = i + 3;
+                i += 3;
+            } else {
+                i++;
+            }
+        }
+        int next = count + 1 < TIMED_FIELDS ? -1 : indexOfDelimiter(line, this.fieldStarts[count], end);
+        this.fieldEnds[count] = next < 0 ? end : next;
+        return count + 1;
+    }
 
-        String[] words = this.thisLine.split(" \\| ");
+    private static int indexOfDelimiter(char[] line, int from, int end) {
+        for (int i = from; i + 2 < end; i++) {
+            if (line[i] == ' ' && line[i + 1] == '|' && line[i + 2] == ' ') {
+                return i;
+            }
+        }
+        return -1;
+    }
 
-        boolean isDone;
-        isDone = words[1].trim().equals("1");
+    /**
+     * Checks whether a field, without its surrounding whitespace, is a single character.
+     */
+    private boolean isTrimmed(char[] line, int field, char expected) {
+        int start = this.fieldStarts[field];
+        int end = this.fieldEnds[field];
+        while (start < end && line[start] <= ' ') {
+            start++;
+        }
+        while (end > start && line[end - 1] <= ' ') {
+            end--;
+        }
+        return end - start == 1 && line[start] == expected;
+    }
 
-        String name = words[2].trim();
-        String duration;
+    private String trimmedField(char[] line, int field) {
+        int start = this.fieldStarts[field];
+        int end = this.fieldEnds[field];
+        while (start < end && line[start] <= ' ') {
+            start++;
+        }
+        while (end > start && line[end - 1] <= ' ') {
+            end--;
+        }
+        return new String(line, start, end - start);
+    }
 
-        String category = words[0].trim();
-        switch (category) {
-        case "T":
-            return new Todo(name, isDone);
-        case "E":
-            duration = words[3];
-            return new Event(name, duration, isDone);
-        case "D":
-            duration = words[3];
-            return new Deadline(name, duration, isDone);
-        default:
-            return new Task(name, isDone);
+    private void ensureCapacity(int length) {
+        if (this.chars.length < length) {
+            this.chars = new char[Math.max(length, this.chars.length * 2)];
+            this.charBuffer = CharBuffer.wrap(this.chars);
         }
     }
 }
@@ -1,20 +1,29 @@
 package parser;
 
 import command.Command;
+import command.ConflictsCommand;
 import command.AddCommand;
 import command.DeleteCommand;
 import command.DoneCommand;
 import command.DisplayCommand;
+import command.DueCommand;
 import command.ErrorCommand;
 import command.ExitCommand;
 import command.FindCommand;
 import command.HelpCommand;
+import command.OverdueCommand;
 import command.ReminderCommand;
+import command.RunCommand;
+import command.SearchCommand;
+import command.TransactionCommand;
 import task.Todo;
 import task.Event;
 import task.Deadline;
 import common.Message;
 import exception.DukeException;
+import ui.TextUi;
+
+import java.time.LocalDate;
 
 /**
  * Represents a parser between command input and command objects.
@@ -23,110 +32,136 @@ public class Parser {
 
     /**
      * Converts user inputs to command objects.
+     * The input is scanned once; the keyword is looked up in a table and the arguments are cut out by their offsets.
      *
      * @param input the input string of the user
      * @return a command object
      */
     public static Command parse(String input) {
-        String[] words = input.split(" ");
-        String[] stamps = input.split("/");
-        String keyword = words[0];
-        if (input.equals("")) {
+        Tokenizer tokens = new Tokenizer(input);
+        if (input.isEmpty() || tokens.getWordCount() == 0) {
             return new ErrorCommand();
         }
-        if (keyword.equalsIgnoreCase("find")) {
-            if (words.length < 2) {
+        if (tokens.isTrimmed("overdue")) {
+            return new OverdueCommand();
+        }
+        if (tokens.isTrimmed("conflicts")) {
+            return new ConflictsCommand();
+        }
+        int wordCount = tokens.getWordCount();
+        switch (tokens.getKeyword()) {
+        case Tokenizer.FIND:
+            if (wordCount < 2) {
                 return new ErrorCommand();
             }
-            String searchingItem = input.substring(5).trim();
-            return new FindCommand(searchingItem);
-        }
-
-        if (keyword.equalsIgnoreCase("help")) {
+            return new FindCommand(input.substring(5).trim());
+        case Tokenizer.SEARCH:
+            if (wordCount < 2) {
+                return new ErrorCommand();
+            }
+            return new SearchCommand(input.substring(7).trim());
+        case Tokenizer.HELP:
             return new HelpCommand();
-        }
-
-        if (keyword.equalsIgnoreCase("reminders")) {
-            return handleReminder(words);
-        }
-
-        if (keyword.equalsIgnoreCase("bye")) {
+        case Tokenizer.REMINDERS:
+            return handleReminder(tokens);
+        case Tokenizer.DUE:
+            return handleDue(input.substring(3).trim());
+        case Tokenizer.BYE:
             return new ExitCommand();
-        }
-        if (input.equalsIgnoreCase("list")) {
-            return new DisplayCommand();
-        }
-        int thisIndex;
-        if (keyword.equalsIgnoreCase("done")) {
-            try {
-                if (words.length != 2) {
-                    throw new DukeException(Message.MESSAGE_INVALIDCOMMAND);
-                }
-                thisIndex = Integer.parseInt(input.substring(5));
-            } catch (Exception exp) {
-                return new ErrorCommand();
+        case Tokenizer.LIST:
+            if (input.length() == 4) {
+                return new DisplayCommand();
             }
-            return new DoneCommand(thisIndex);
-        } else if (keyword.equalsIgnoreCase("delete")) {
+            return handleList(tokens);
+        case Tokenizer.DONE:
             try {
-                if (words.length != 2) {
+                if (wordCount != 2) {
                     throw new DukeException(Message.MESSAGE_INVALIDCOMMAND);
                 }
-                thisIndex = Integer.parseInt(input.substring(7));
-            } catch (Exception exp) {
+                return new DoneCommand(Integer.parseInt(input, 5, input.length(), 10));
+            } catch (NumberFormatException | DukeException exp) {
                 return new ErrorCommand();
             }
-            return new DeleteCommand(thisIndex);
-        } else if (keyword.equalsIgnoreCase("todo")) {
+        case Tokenizer.DELETE:
             try {
-                if (words.length < 2) {
+                if (wordCount != 2) {
                     throw new DukeException(Message.MESSAGE_INVALIDCOMMAND);
                 }
-            } catch (DukeException exp) {
+                return new DeleteCommand(Integer.parseInt(input, 7, input.length(), 10));
+            } catch (NumberFormatException | DukeException exp) {
                 return new ErrorCommand();
             }
-            return new AddCommand(new Todo(input.substring(5).trim()));
-        } else if (keyword.equalsIgnoreCase("event")) {
-            String[] eventWords = input.split("/at ");
-            try {
-                if (words.length < 4 || stamps.length < 2 || eventWords.length < 2) {
-                    throw new DukeException(Message.MESSAGE_INVALIDCOMMAND);
-                }
-            } catch (DukeException exp) {
+        case Tokenizer.TODO:
+            if (wordCount < 2) {
                 return new ErrorCommand();
             }
-            return new AddCommand(new Event(stamps[0].substring(6), eventWords[1]));
-        } else if (keyword.equalsIgnoreCase("deadline")) {
-            String[] ddlWords = input.split("/by ");
-            try {
-                if (words.length < 4 || stamps.length < 2 || ddlWords.length < 2) {
-                    throw new DukeException("The content of a deadline must be complete.");
-                }
-            } catch (DukeException exp) {
+            return new AddCommand(new Todo(input.substring(5).trim()));
+        case Tokenizer.EVENT:
+            return handleTimedTask(tokens, wordCount, true);
+        case Tokenizer.DEADLINE:
+            return handleTimedTask(tokens, wordCount, false);
+        case Tokenizer.RUN:
+            if (wordCount < 2) {
                 return new ErrorCommand();
             }
-            return new AddCommand(new Deadline(stamps[0].substring(9), ddlWords[1]));
-        } else {
+            return new RunCommand(input.substring(4).trim());
+        case Tokenizer.BEGIN:
+            return handleTransaction(wordCount, TransactionCommand.Kind.BEGIN);
+        case Tokenizer.COMMIT:
+            return handleTransaction(wordCount, TransactionCommand.Kind.COMMIT);
+        case Tokenizer.ROLLBACK:
+            return handleTransaction(wordCount, TransactionCommand.Kind.ROLLBACK);
+        default:
+            return new ErrorCommand();
+        }
+    }
+
+    /**
+     * Parses user input to an "event" or "deadline" command, e.g. "event [NAME] /at [TIME]".
+     *
+     * @param tokens the scanned input
+     * @param wordCount the number of words of the input
+     * @param isEvent whether the input is an event, rather than a deadline
+     * @return an adding command
+     */
+    private static Command handleTimedTask(Tokenizer tokens, int wordCount, boolean isEvent) {
+        if (wordCount < 4) {
+            return new ErrorCommand();
+        }
+        String name = tokens.getBeforeSlash(isEvent ? 6 : 9);
+        String timing = tokens.getAfter(isEvent ? "/at " : "/by ");
+        if (name == null || timing == null) {
             return new ErrorCommand();
         }
+        return new AddCommand(isEvent ? new Event(name, timing) : new Deadline(name, timing));
+    }
+
+    /**
+     * Parses user input to a "begin", "commit" or "rollback" command, which takes no arguments.
+     *
+     * @param wordCount the number of words of the input
+     * @param kind the kind of the command
+     * @return a transaction command
+     */
+    private static Command handleTransaction(int wordCount, TransactionCommand.Kind kind) {
+        return wordCount == 1 ? new TransactionCommand(kind) : new ErrorCommand();
     }
 
     /**
      * Parses user input to "reminders" command.
      *
-     * @param words a string array representing user input
+     * @param tokens the scanned input
      * @return a "reminders" command
      */
-    public static Command handleReminder(String[] words) {
-        if (words.length == 1) {
+    private static Command handleReminder(Tokenizer tokens) {
+        if (tokens.getWordCount() == 1) {
             return new ReminderCommand();
-        } else if (words.length == 2) {
-            String taskType = words[1];
-            if (taskType.equalsIgnoreCase("todo")) {
+        } else if (tokens.getWordCount() == 2) {
+            if (tokens.isWord(1, "todo")) {
                 return new ReminderCommand(1);
-            } else if (taskType.equalsIgnoreCase("event")) {
+            } else if (tokens.isWord(1, "event")) {
                 return new ReminderCommand(2);
-            } else if (taskType.equalsIgnoreCase("deadline")) {
+            } else if (tokens.isWord(1, "deadline")) {
                 return new ReminderCommand(3);
             } else {
                 return new ErrorCommand();
@@ -135,4 +170,118 @@ public class Parser {
             return new ErrorCommand();
         }
     }
+
+    /**
+     * Parses user input to "list" command with a page, i.e. "list next", "list page [N]" or "list [A]-[B]".
+     *
+     * @param tokens the scanned input
+     * @return a "list" command
+     */
+    private static Command handleList(Tokenizer tokens) {
+        int wordCount = tokens.getWordCount();
+        try {
+            if (wordCount == 2 && tokens.isWord(1, "next")) {
+                return new DisplayCommand(true);
+            } else if (wordCount == 3 && tokens.isWord(1, "page")) {
+                int page = tokens.parseWord(2);
+                if (page < 1 || page > Integer.MAX_VALUE / TextUi.LIST_PAGE_SIZE) {
+                    throw new DukeException(Message.MESSAGE_INVALIDCOMMAND);
+                }
+                return new DisplayCommand((page - 1) * TextUi.LIST_PAGE_SIZE, page * TextUi.LIST_PAGE_SIZE);
+            } else if (wordCount == 2) {
+                return handleRange(tokens.getInput(), tokens.getStart(1), tokens.getEnd(1));
+            } else {
+                throw new DukeException(Message.MESSAGE_INVALIDCOMMAND);
+            }
+        } catch (NumberFormatException | DukeException exp) {
+            return new ErrorCommand();
+        }
+    }
+
+    /**
+     * Parses the range of a "list [A]-[B]" command, which is two runs of the digits 0 to 9.
+     */
+    private static Command handleRange(String input, int start, int end) throws DukeException {
+        int dash = start;
+        while (dash < end && isDigit(input.charAt(dash))) {
+            dash++;
+        }
+        int last = dash + 1;
+        while (last < end && isDigit(input.charAt(last))) {
+            last++;
+        }
+        if (dash == start || dash == end || input.charAt(dash) != '-' || last == dash + 1 || last != end) {
+            throw new DukeException(Message.MESSAGE_INVALIDCOMMAND);
+        }
+        int first = Integer.parseInt(input, start, dash, 10);
+        int lastIndex = Integer.parseInt(input, dash + 1, end, 10);
+        if (first < 1 || lastIndex < first) {
+            throw new DukeException(Message.MESSAGE_INVALIDCOMMAND);
+        }
+        return new DisplayCommand(first - 1, lastIndex);
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Parses user input to "due" command, i.e. "due before [DATE]" or "due between [DATE] [DATE]".
+     * Dates are yyyy-MM-dd, or in the display format with "and" between the two dates.
+     *
+     * @param range the input after the keyword
+     * @return a "due" command
+     */
+    private static Command handleDue(String range) {
+        int space = range.indexOf(' ');
+        if (space < 0) {
+            return new ErrorCommand();
+        }
+        String dates = range.substring(space + 1).trim();
+        if (space == 6 && range.regionMatches(true, 0, "before", 0, 6)) {
+            LocalDate before = TimeFormatter.parseDate(dates);
+            return before == null ? new ErrorCommand() : new DueCommand(null, before.minusDays(1));
+        } else if (space == 7 && range.regionMatches(true, 0, "between", 0, 7)) {
+            int firstEnd;
+            int secondStart;
+            int and = dates.indexOf(" and ");
+            if (and >= 0) {
+                firstEnd = and;
+                secondStart = and + 5;
+                if (dates.indexOf(" and ", secondStart) >= 0) {
+                    return new ErrorCommand();
+                }
+            } else {
+                // the dates are trimmed, so they split into two parts only at a single run of whitespace
+                firstEnd = 0;
+                while (firstEnd < dates.length() && !isWhitespace(dates.charAt(firstEnd))) {
+                    firstEnd++;
+                }
+                secondStart = firstEnd;
+                while (secondStart < dates.length() && isWhitespace(dates.charAt(secondStart))) {
+                    secondStart++;
+                }
+                for (int i = secondStart; i < dates.length(); i++) {
+                    if (isWhitespace(dates.charAt(i))) {
+                        return new ErrorCommand();
+                    }
+                }
+                if (secondStart == dates.length()) {
+                    return new ErrorCommand();
+                }
+            }
+            LocalDate from = TimeFormatter.parseDate(dates.substring(0, firstEnd).trim());
+            LocalDate to = TimeFormatter.parseDate(dates.substring(secondStart).trim());
+            return from == null || to == null ? new ErrorCommand() : new DueCommand(from, to);
+        } else {
+            return new ErrorCommand();
+        }
+    }
+
+    /**
+     * Checks whether a character is whitespace as \s matches it in a regular expression.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+    }
 }
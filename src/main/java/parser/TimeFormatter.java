@@ -1,13 +1,52 @@
 package parser;
 
+import java.text.ParsePosition;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.Year;
 import java.time.format.DateTimeFormatter;
+import java.time.format.ResolverStyle;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalAdjusters;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Represents a time formatter which translates between forms of date representation.
+ * Dates and times are parsed with a registry of formatters compiled once: a cheap check of the shape of the text,
+ * such as its length and where its separators are, picks the one formatter that can match, and text of no known
+ * shape is rejected without parsing. A formatter only reads the fields, which are then checked and combined here, so
+ * text that is not a date is rejected without an exception. Each thread remembers the dates and times it parsed
+ * last in a small LRU cache, as the same dates tend to be parsed again, e.g. when a file is loaded.
  */
 public class TimeFormatter {
 
+    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy");
+    private static final DateTimeFormatter DISPLAY_DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm")
+            .withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter INPUT_TIME_FORMAT = DateTimeFormatter.ofPattern("HHmm")
+            .withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter INPUT_DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd HHmm")
+            .withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter INPUT_DATE_COLON_TIME_FORMAT =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm").withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter SLASH_DATE_FORMAT = DateTimeFormatter.ofPattern("d/M/uuuu")
+            .withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter SLASH_DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("d/M/uuuu HHmm")
+            .withResolverStyle(ResolverStyle.STRICT);
+
+    private static final String NEXT_WORD = "next ";
+    private static final int CACHE_SIZE = 64;
+    private static final Object NOT_PARSED = new Object();
+    private static final ThreadLocal<Map<String, Object>> dateCache =
+            ThreadLocal.withInitial(() -> new LruCache(CACHE_SIZE));
+    private static final ThreadLocal<Map<String, Object>> dateTimeCache =
+            ThreadLocal.withInitial(() -> new LruCache(CACHE_SIZE));
+
     private String strDate;
 
     /**
@@ -24,11 +63,287 @@ public class TimeFormatter {
      * @Return a string representing a formatted LocalDate
      */
     public String parseToFormat() {
-        try {
-            LocalDate thisLocalDate = LocalDate.parse(strDate);
-            return thisLocalDate.format(DateTimeFormatter.ofPattern("MMM dd yyyy"));
-        } catch (Exception exo) {
-            return this.strDate;
+        LocalDate thisLocalDate = parseDate(this.strDate);
+        return thisLocalDate == null ? this.strDate : formatDate(thisLocalDate);
+    }
+
+    /**
+     * Parses a calendar date, typed as yyyy-MM-dd or d/M/yyyy, or shown in the display format.
+     * Displayed dates are only accepted if they format back to exactly the same text, so free text that happens to
+     * look like a date survives unchanged.
+     *
+     * @param text the trimmed text, e.g. 2026-10-18, 18/10/2026 or Oct 18 2026
+     * @return the date, or null if the text is not a date
+     */
+    public static LocalDate parseDate(String text) {
+        DateTimeFormatter format = findDateFormat(text);
+        if (format == null) {
+            return null;
+        }
+        Map<String, Object> cache = dateCache.get();
+        Object date = cache.get(text);
+        if (date == null) {
+            date = toDate(parseFields(text, format));
+            cache.put(text, date == null ? NOT_PARSED : date);
+        }
+        return date == NOT_PARSED ? null : (LocalDate) date;
+    }
+
+    /**
+     * Parses a date and time, typed as yyyy-MM-dd HHmm, yyyy-MM-dd HH:mm, yyyy-MM-ddTHH:mm or d/M/yyyy HHmm, or
+     * shown in the display format.
+     *
+     * @param text the trimmed text, e.g. 2026-10-18 1400, 18/10/2026 1400 or Oct 18 2026 14:00
+     * @return the date and time, or null if the text is not a date and time
+     */
+    public static LocalDateTime parseDateTime(String text) {
+        DateTimeFormatter format = findDateTimeFormat(text);
+        if (format == null) {
+            return null;
+        }
+        Map<String, Object> cache = dateTimeCache.get();
+        Object dateTime = cache.get(text);
+        if (dateTime == null) {
+            TemporalAccessor fields = parseFields(text, format);
+            LocalDate date = toDate(fields);
+            LocalTime time = toTime(fields);
+            dateTime = date == null || time == null ? null : date.atTime(time);
+            cache.put(text, dateTime == null ? NOT_PARSED : dateTime);
+        }
+        return dateTime == NOT_PARSED ? null : (LocalDateTime) dateTime;
+    }
+
+    /**
+     * Parses a time of day, typed as HHmm or HH:mm.
+     *
+     * @param text the trimmed text, e.g. 1600 or 16:00
+     * @return the time, or null if the text is not a time
+     */
+    public static LocalTime parseTime(String text) {
+        if (text.length() == 4) {
+            return toTime(parseFields(text, INPUT_TIME_FORMAT));
+        }
+        if (text.length() == 5 && text.charAt(2) == ':') {
+            return toTime(parseFields(text, TIME_FORMAT));
+        }
+        return null;
+    }
+
+    /**
+     * Parses a date typed relative to a day: today, tomorrow, or next and a day of the week, e.g. next mon, which
+     * is always after the day.
+     *
+     * @param text the trimmed text
+     * @param today the day the text is relative to
+     * @return the date, or null if the text is not a relative date
+     */
+    public static LocalDate parseRelativeDate(String text, LocalDate today) {
+        if (text.equalsIgnoreCase("today")) {
+            return today;
+        }
+        if (text.equalsIgnoreCase("tomorrow")) {
+            return today.plusDays(1);
+        }
+        if (text.length() > NEXT_WORD.length() && text.regionMatches(true, 0, NEXT_WORD, 0, NEXT_WORD.length())) {
+            DayOfWeek day = parseDayOfWeek(text.substring(NEXT_WORD.length()).trim());
+            return day == null ? null : today.with(TemporalAdjusters.next(day));
+        }
+        return null;
+    }
+
+    /**
+     * Parses a date typed relative to a day followed by a time, e.g. tomorrow 1400 or next fri 09:30.
+     *
+     * @param text the trimmed text
+     * @param today the day the text is relative to
+     * @return the date and time, or null if the text is not a relative date and time
+     */
+    public static LocalDateTime parseRelativeDateTime(String text, LocalDate today) {
+        int spaceAt = text.lastIndexOf(' ');
+        if (spaceAt < 0) {
+            return null;
+        }
+        LocalTime time = parseTime(text.substring(spaceAt + 1));
+        LocalDate date = time == null ? null : parseRelativeDate(text.substring(0, spaceAt).trim(), today);
+        return date == null ? null : date.atTime(time);
+    }
+
+    private static DayOfWeek parseDayOfWeek(String text) {
+        for (DayOfWeek day : DayOfWeek.values()) {
+            String name = day.name();
+            if (text.equalsIgnoreCase(name) || text.length() == 3 && name.regionMatches(true, 0, text, 0, 3)) {
+                return day;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Picks the formatter of a date by the shape of the text.
+     */
+    private static DateTimeFormatter findDateFormat(String text) {
+        int length = text.length();
+        if (length == 10 && text.charAt(4) == '-' && text.charAt(7) == '-') {
+            return DateTimeFormatter.ISO_LOCAL_DATE;
+        }
+        if (length == 11 && text.charAt(3) == ' ' && text.charAt(6) == ' ') {
+            return DISPLAY_FORMAT;
+        }
+        if (length >= 8 && length <= 10 && text.charAt(length - 5) == '/'
+                && (text.charAt(1) == '/' || text.charAt(2) == '/')) {
+            return SLASH_DATE_FORMAT;
+        }
+        return null;
+    }
+
+    /**
+     * Picks the formatter of a date and time by the shape of the text.
+     */
+    private static DateTimeFormatter findDateTimeFormat(String text) {
+        int length = text.length();
+        if (length >= 15 && text.charAt(4) == '-' && text.charAt(7) == '-') {
+            if (text.charAt(10) == 'T') {
+                return DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+            }
+            if (text.charAt(10) == ' ' && length <= 16) {
+                return length == 15 ? INPUT_DATE_TIME_FORMAT : INPUT_DATE_COLON_TIME_FORMAT;
+            }
+            return null;
+        }
+        if (length == 17 && text.charAt(3) == ' ' && text.charAt(6) == ' ' && text.charAt(11) == ' ') {
+            return DISPLAY_DATE_TIME_FORMAT;
+        }
+        if (length >= 13 && length <= 15 && text.charAt(length - 5) == ' ' && text.charAt(length - 10) == '/') {
+            return SLASH_DATE_TIME_FORMAT;
+        }
+        return null;
+    }
+
+    /**
+     * Reads the fields of the whole text with a formatter, without resolving them into a date or time.
+     *
+     * @return the fields, or null if the text does not match the formatter
+     */
+    private static TemporalAccessor parseFields(String text, DateTimeFormatter format) {
+        ParsePosition position = new ParsePosition(0);
+        TemporalAccessor fields = format.parseUnresolved(text, position);
+        if (fields == null || position.getErrorIndex() >= 0 || position.getIndex() != text.length()) {
+            return null;
+        }
+        return fields;
+    }
+
+    /**
+     * Combines the fields of a date, or returns null if they are missing or out of range, e.g. February 30.
+     * This is as strict as the strict resolver, and as checking that a displayed date formats back to its text.
+     */
+    private static LocalDate toDate(TemporalAccessor fields) {
+        if (fields == null || !fields.isSupported(ChronoField.MONTH_OF_YEAR)
+                || !fields.isSupported(ChronoField.DAY_OF_MONTH)) {
+            return null;
+        }
+        long year;
+        if (fields.isSupported(ChronoField.YEAR)) {
+            year = fields.getLong(ChronoField.YEAR);
+        } else if (fields.isSupported(ChronoField.YEAR_OF_ERA)) {
+            // without an era, a year of era counts from year 1
+            year = fields.getLong(ChronoField.YEAR_OF_ERA);
+            if (year < 1) {
+                return null;
+            }
+        } else {
+            return null;
+        }
+        long month = fields.getLong(ChronoField.MONTH_OF_YEAR);
+        long day = fields.getLong(ChronoField.DAY_OF_MONTH);
+        if (year < Year.MIN_VALUE || year > Year.MAX_VALUE || month < 1 || month > 12 || day < 1
+                || day > lengthOfMonth((int) year, (int) month)) {
+            return null;
+        }
+        return LocalDate.of((int) year, (int) month, (int) day);
+    }
+
+    /**
+     * Combines the fields of a time of day, or returns null if they are missing or out of range, e.g. 24:00.
+     */
+    private static LocalTime toTime(TemporalAccessor fields) {
+        if (fields == null || !fields.isSupported(ChronoField.HOUR_OF_DAY)
+                || !fields.isSupported(ChronoField.MINUTE_OF_HOUR)) {
+            return null;
+        }
+        long hour = fields.getLong(ChronoField.HOUR_OF_DAY);
+        long minute = fields.getLong(ChronoField.MINUTE_OF_HOUR);
+        long second = fields.isSupported(ChronoField.SECOND_OF_MINUTE)
+                ? fields.getLong(ChronoField.SECOND_OF_MINUTE) : 0;
+        long nano = fields.isSupported(ChronoField.NANO_OF_SECOND) ? fields.getLong(ChronoField.NANO_OF_SECOND) : 0;
+        if (hour < 0 || hour > 23 || minute < 0 || minute > 59 || second < 0 || second > 59 || nano < 0
+                || nano > 999_999_999) {
+            return null;
+        }
+        return LocalTime.of((int) hour, (int) minute, (int) second, (int) nano);
+    }
+
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+        case 2:
+            return Year.isLeap(year) ? 29 : 28;
+        case 4:
+        case 6:
+        case 9:
+        case 11:
+            return 30;
+        default:
+            return 31;
+        }
+    }
+
+    /**
+     * Formats a date in the display format.
+     *
+     * @param date the date
+     * @return a string representing the date, e.g. Oct 18 2026
+     */
+    public static String formatDate(LocalDate date) {
+        return date.format(DISPLAY_FORMAT);
+    }
+
+    /**
+     * Formats a date and time in the display format.
+     *
+     * @param dateTime the date and time
+     * @return a string representing the date and time, e.g. Oct 18 2026 14:00
+     */
+    public static String formatDateTime(LocalDateTime dateTime) {
+        return dateTime.format(DISPLAY_DATE_TIME_FORMAT);
+    }
+
+    /**
+     * Formats a time of day in the display format.
+     *
+     * @param time the time
+     * @return a string representing the time, e.g. 16:00
+     */
+    public static String formatTime(LocalTime time) {
+        return time.format(TIME_FORMAT);
+    }
+
+    /**
+     * Represents a map that keeps only the entries used last.
+     */
+    private static class LruCache extends LinkedHashMap<String, Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+
+        LruCache(int capacity) {
+            super(capacity * 2, 0.75f, true);
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Object> eldest) {
+            return size() > this.capacity;
         }
     }
 }
@@ -0,0 +1,251 @@
+package parser;
+
+import java.util.Arrays;
+
+/**
+ * Represents the words of a command input, found in one scan of the input without copying it.
+ * The words are the parts between single spaces, as String.split(" ") gives them: two spaces in a row make an empty
+ * word, and the spaces at the end make no word. Words are kept as offsets into the input; only the first three are
+ * located, as no command reads further.
+ * The first word is looked up in a table of keywords by its length and first letter, and then compared with the one
+ * keyword found, ignoring case.
+ */
+class Tokenizer {
+
+    static final int NONE = -1;
+    static final int FIND = 0;
+    static final int SEARCH = 1;
+    static final int HELP = 2;
+    static final int REMINDERS = 3;
+    static final int DUE = 4;
+    static final int BYE = 5;
+    static final int LIST = 6;
+    static final int DONE = 7;
+    static final int DELETE = 8;
+    static final int TODO = 9;
+    static final int EVENT = 10;
+    static final int DEADLINE = 11;
+    static final int RUN = 12;
+    static final int BEGIN = 13;
+    static final int COMMIT = 14;
+    static final int ROLLBACK = 15;
+
+    private static final String[] KEYWORDS = {"find", "search", "help", "reminders", "due", "bye", "list", "done",
+        "delete", "todo", "event", "deadline", "run", "begin", "commit", "rollback"};
+    private static final int MAX_KEYWORD_LENGTH = 9;
+    private static final int LETTERS = 26;
+    private static final int[] KEYWORD_TABLE = buildKeywordTable();
+
+    private final String input;
+    private final int keyword;
+    private int wordCount;
+    private int firstSpace = -1;
+    private int secondSpace = -1;
+    private int thirdSpace = -1;
+    private int firstSlash = -1;
+    private boolean hasTextAfterSlash;
+    private int trimmedStart = -1;
+    private int trimmedEnd = -1;
+
+    /**
+     * Constructor of the Tokenizer class, which scans the input.
+     *
+     * @param input the input string of the user
+     */
+    Tokenizer(String input) {
+        this.input = input;
+        int length = input.length();
+        // "".split(" ") gives one empty word, while an input of only spaces gives none
+        this.wordCount = length == 0 ? 1 : 0;
+        int spaces = 0;
+        for (int i = 0; i < length; i++) {
+            char c = input.charAt(i);
+            if (c == ' ') {
+                if (spaces == 0) {
+                    this.firstSpace = i;
+                } else if (spaces == 1) {
+                    this.secondSpace = i;
+                } else if (spaces == 2) {
+                    this.thirdSpace = i;
+                }
+                spaces++;
+            } else {
+                this.wordCount = spaces + 1;
+            }
+            if (c == '/') {
+                if (this.firstSlash < 0) {
+                    this.firstSlash = i;
+                }
+            } else if (this.firstSlash >= 0) {
+                this.hasTextAfterSlash = true;
+            }
+            if (c > ' ') {
+                if (this.trimmedStart < 0) {
+                    this.trimmedStart = i;
+                }
+                this.trimmedEnd = i + 1;
+            }
+        }
+        this.keyword = lookUp(input, this.firstSpace < 0 ? length : this.firstSpace);
+    }
+
+    String getInput() {
+        return this.input;
+    }
+
+    /**
+     * Gets the keyword the first word is.
+     *
+     * @return one of the keyword constants, or NONE
+     */
+    int getKeyword() {
+        return this.keyword;
+    }
+
+    /**
+     * Counts the words, as String.split(" ") would.
+     *
+     * @return the number of words, which is 0 for an input of only spaces
+     */
+    int getWordCount() {
+        return this.wordCount;
+    }
+
+    /**
+     * Gets where a word starts.
+     *
+     * @param word the index of the word, at most 2
+     * @return the index of the first character of the word
+     */
+    int getStart(int word) {
+        return word == 0 ? 0 : spaceBefore(word) + 1;
+    }
+
+    /**
+     * Gets where a word ends.
+     *
+     * @param word the index of the word, at most 2
+     * @return the index after the last character of the word
+     */
+    int getEnd(int word) {
+        int space = spaceBefore(word + 1);
+        return space < 0 ? this.input.length() : space;
+    }
+
+    /**
+     * Checks whether a word is the given text, ignoring case.
+     *
+     * @param word the index of the word, at most 2
+     * @param text the text in lower case
+     * @return true if the word is the text
+     */
+    boolean isWord(int word, String text) {
+        int start = getStart(word);
+        return getEnd(word) - start == text.length() && this.input.regionMatches(true, start, text, 0, text.length());
+    }
+
+    /**
+     * Checks whether the input without its leading and trailing whitespace is the given text, ignoring case.
+     *
+     * @param text the text in lower case
+     * @return true if the trimmed input is the text
+     */
+    boolean isTrimmed(String text) {
+        return this.trimmedStart >= 0 && this.trimmedEnd - this.trimmedStart == text.length()
+                && this.input.regionMatches(true, this.trimmedStart, text, 0, text.length());
+    }
+
+    /**
+     * Parses a word as an int.
+     *
+     * @param word the index of the word, at most 2
+     * @return the int
+     * @throws NumberFormatException if the word is not an int
+     */
+    int parseWord(int word) {
+        return Integer.parseInt(this.input, getStart(word), getEnd(word), 10);
+    }
+
+    /**
+     * Gets the text before the first slash, as the first part of String.split("/") would.
+     *
+     * @param from the index to start at
+     * @return the text, or null if the input does not split into at least two parts at slashes
+     */
+    String getBeforeSlash(int from) {
+        return this.hasTextAfterSlash ? this.input.substring(from, this.firstSlash) : null;
+    }
+
+    /**
+     * Gets the text after the first marker up to the next one, as the second part of String.split(marker) would.
+     *
+     * @param marker the marker, which cannot overlap itself
+     * @return the text, or null if the input does not split into at least two parts at the marker
+     */
+    String getAfter(String marker) {
+        int at = this.input.indexOf(marker);
+        if (at < 0) {
+            return null;
+        }
+        int start = at + marker.length();
+        int next = this.input.indexOf(marker, start);
+        int end = next < 0 ? this.input.length() : next;
+        if (end > start) {
+            return this.input.substring(start, end);
+        }
+        // the part is empty; it is only kept if a later part is not, as split drops the empty parts at the end
+        int position = start;
+        while (this.input.startsWith(marker, position)) {
+            position += marker.length();
+        }
+        return position < this.input.length() ? "" : null;
+    }
+
+    private int spaceBefore(int word) {
+        switch (word) {
+        case 1:
+            return this.firstSpace;
+        case 2:
+            return this.secondSpace;
+        case 3:
+            return this.thirdSpace;
+        default:
+            throw new IllegalArgumentException("Only the first three words are located: " + word);
+        }
+    }
+
+    private static int lookUp(String input, int length) {
+        if (length == 0 || length > MAX_KEYWORD_LENGTH) {
+            return NONE;
+        }
+        int letter = fold(input.charAt(0)) - 'a';
+        if (letter < 0 || letter >= LETTERS) {
+            return NONE;
+        }
+        int keyword = KEYWORD_TABLE[length * LETTERS + letter];
+        if (keyword == NONE || !input.regionMatches(true, 0, KEYWORDS[keyword], 0, length)) {
+            return NONE;
+        }
+        return keyword;
+    }
+
+    /**
+     * Folds the case of a character as String.equalsIgnoreCase does, so every character that equals a letter
+     * ignoring case folds to that letter.
+     */
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+
+    private static int[] buildKeywordTable() {
+        int[] table = new int[(MAX_KEYWORD_LENGTH + 1) * LETTERS];
+        Arrays.fill(table, NONE);
+        for (int keyword = 0; keyword < KEYWORDS.length; keyword++) {
+            String text = KEYWORDS[keyword];
+            int entry = text.length() * LETTERS + text.charAt(0) - 'a';
+            assert table[entry] == NONE : "no two keywords share a length and a first letter";
+            table[entry] = keyword;
+        }
+        return table;
+    }
+}
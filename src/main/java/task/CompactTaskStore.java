@@ -0,0 +1,289 @@
+package task;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Represents a TaskStore that keeps tasks as columns of primitives instead of objects, for very large lists.
+ * The type of each slot is a byte, the done flags are a BitSet and dates are the int start and end minutes of their
+ * Timing. Names, and timings that are free text, are kept once in a shared UTF-8 arena: a dictionary finds an equal
+ * string that is already in the arena, so repeated names cost one int per task. Task objects are only created when a
+ * slot is read, e.g. for rendering.
+ */
+public class CompactTaskStore implements TaskStore {
+
+    private static final byte TYPE_EMPTY = -1;
+    private static final byte TYPE_TASK = 0;
+    private static final byte TYPE_TODO = 1;
+    private static final byte TYPE_DEADLINE = 2;
+    private static final byte TYPE_EVENT = 3;
+    private static final byte TIMING_NONE = 0;
+    private static final byte TIMING_TEXT = 1;
+    private static final byte TIMING_DATE = 2;
+    private static final byte TIMING_DATE_TIME = 3;
+    private static final int NO_REF = -1;
+
+    private int slotCount;
+    private byte[] types;
+    private long[] ids;
+    private byte[] timingKinds;
+    private int[] startMinutes;
+    private int[] endMinutes;
+    private int[] nameRefs;
+    private int[] dateRefs;
+    private BitSet doneFlags;
+
+    private byte[] arena;
+    private int arenaSize;
+    private int[] dictionary;
+    private int dictionarySize;
+
+    public CompactTaskStore() {
+        this(16);
+    }
+
+    /**
+     * Constructor of the CompactTaskStore class.
+     *
+     * @param capacity the number of slots to reserve
+     */
+    public CompactTaskStore(int capacity) {
+        int slots = Math.max(16, capacity);
+        this.types = new byte[slots];
+        this.ids = new long[slots];
+        this.timingKinds = new byte[slots];
+        this.startMinutes = new int[slots];
+        this.endMinutes = new int[slots];
+        this.nameRefs = new int[slots];
+        this.dateRefs = new int[slots];
+        this.doneFlags = new BitSet(slots);
+        this.arena = new byte[Math.max(256, slots * 8)];
+        this.dictionary = new int[64];
+    }
+
+    @Override
+    public TaskStore createEmpty(int capacity) {
+        return new CompactTaskStore(capacity);
+    }
+
+    @Override
+    public int slotCount() {
+        return this.slotCount;
+    }
+
+    @Override
+    public void append(Task task) {
+        if (this.slotCount == this.types.length) {
+            grow();
+        }
+        write(this.slotCount++, task);
+    }
+
+    @Override
+    public void restore(int slot, Task task) {
+        write(slot, task);
+    }
+
+    private void write(int slot, Task task) {
+        Timing timing = null;
+        if (task instanceof Deadline) {
+            this.types[slot] = TYPE_DEADLINE;
+            timing = ((Deadline) task).getTiming();
+        } else if (task instanceof Event) {
+            this.types[slot] = TYPE_EVENT;
+            timing = ((Event) task).getTiming();
+        } else if (task instanceof Todo) {
+            this.types[slot] = TYPE_TODO;
+        } else {
+            this.types[slot] = TYPE_TASK;
+        }
+        this.ids[slot] = task.getId();
+        this.nameRefs[slot] = intern(task.name);
+        this.dateRefs[slot] = NO_REF;
+        if (timing == null) {
+            this.timingKinds[slot] = TIMING_NONE;
+        } else if (timing.hasDate()) {
+            this.timingKinds[slot] = timing.hasTime() ? TIMING_DATE_TIME : TIMING_DATE;
+            this.startMinutes[slot] = timing.getStartMinute();
+            this.endMinutes[slot] = timing.getEndMinute();
+        } else {
+            this.timingKinds[slot] = TIMING_TEXT;
+            this.dateRefs[slot] = intern(timing.getText());
+        }
+        this.doneFlags.set(slot, task.isDone);
+    }
+
+    @Override
+    public Task get(int slot) {
+        byte type = this.types[slot];
+        if (type == TYPE_EMPTY) {
+            return null;
+        }
+        String name = readString(this.nameRefs[slot]);
+        boolean isDone = this.doneFlags.get(slot);
+        Task task;
+        switch (type) {
+        case TYPE_TODO:
+            task = new Todo(name, isDone);
+            break;
+        case TYPE_DEADLINE:
+            task = new Deadline(name, readTiming(slot), isDone);
+            break;
+        case TYPE_EVENT:
+            task = new Event(name, readTiming(slot), isDone);
+            break;
+        default:
+            task = new Task(name, isDone);
+            break;
+        }
+        task.setId(this.ids[slot]);
+        return task;
+    }
+
+    @Override
+    public boolean isEmpty(int slot) {
+        return this.types[slot] == TYPE_EMPTY;
+    }
+
+    @Override
+    public long getId(int slot) {
+        return this.ids[slot];
+    }
+
+    @Override
+    public void setDone(int slot, boolean isDone) {
+        this.doneFlags.set(slot, isDone);
+    }
+
+    @Override
+    public void clear(int slot) {
+        this.types[slot] = TYPE_EMPTY;
+        this.doneFlags.clear(slot);
+    }
+
+    /**
+     * Drops the empty slots. Strings in the arena are kept, as later tasks may share them.
+     */
+    @Override
+    public void compact() {
+        int filled = 0;
+        for (int slot = 0; slot < this.slotCount; slot++) {
+            if (this.types[slot] == TYPE_EMPTY) {
+                continue;
+            }
+            this.types[filled] = this.types[slot];
+            this.ids[filled] = this.ids[slot];
+            this.timingKinds[filled] = this.timingKinds[slot];
+            this.startMinutes[filled] = this.startMinutes[slot];
+            this.endMinutes[filled] = this.endMinutes[slot];
+            this.nameRefs[filled] = this.nameRefs[slot];
+            this.dateRefs[filled] = this.dateRefs[slot];
+            this.doneFlags.set(filled, this.doneFlags.get(slot));
+            filled++;
+        }
+        this.doneFlags.clear(filled, this.slotCount);
+        this.slotCount = filled;
+    }
+
+    private Timing readTiming(int slot) {
+        if (this.timingKinds[slot] == TIMING_TEXT) {
+            return Timing.ofText(readString(this.dateRefs[slot]));
+        }
+        return Timing.ofEpochMinutes(this.startMinutes[slot], this.endMinutes[slot],
+                this.timingKinds[slot] == TIMING_DATE_TIME);
+    }
+
+    private void grow() {
+        int capacity = this.types.length + (this.types.length >> 1);
+        this.types = Arrays.copyOf(this.types, capacity);
+        this.ids = Arrays.copyOf(this.ids, capacity);
+        this.timingKinds = Arrays.copyOf(this.timingKinds, capacity);
+        this.startMinutes = Arrays.copyOf(this.startMinutes, capacity);
+        this.endMinutes = Arrays.copyOf(this.endMinutes, capacity);
+        this.nameRefs = Arrays.copyOf(this.nameRefs, capacity);
+        this.dateRefs = Arrays.copyOf(this.dateRefs, capacity);
+    }
+
+    /**
+     * Finds a string in the arena, or appends it.
+     * An arena entry is the int length of the UTF-8 bytes followed by the bytes.
+     *
+     * @param str the string
+     * @return the offset of the entry in the arena
+     */
+    private int intern(String str) {
+        byte[] utf8 = str.getBytes(StandardCharsets.UTF_8);
+        int hash = hash(utf8, 0, utf8.length);
+        int mask = this.dictionary.length - 1;
+        for (int i = hash & mask; ; i = (i + 1) & mask) {
+            int entry = this.dictionary[i];
+            if (entry == 0) {
+                break;
+            }
+            int ref = entry - 1;
+            if (Arrays.equals(this.arena, ref + Integer.BYTES, ref + Integer.BYTES + readLength(ref),
+                    utf8, 0, utf8.length)) {
+                return ref;
+            }
+        }
+        int ref = appendToArena(utf8);
+        addToDictionary(ref, hash);
+        return ref;
+    }
+
+    private int appendToArena(byte[] utf8) {
+        int needed = this.arenaSize + Integer.BYTES + utf8.length;
+        if (needed > this.arena.length) {
+            this.arena = Arrays.copyOf(this.arena, Math.max(needed, this.arena.length + (this.arena.length >> 1)));
+        }
+        int ref = this.arenaSize;
+        this.arena[ref] = (byte) (utf8.length >>> 24);
+        this.arena[ref + 1] = (byte) (utf8.length >>> 16);
+        this.arena[ref + 2] = (byte) (utf8.length >>> 8);
+        this.arena[ref + 3] = (byte) utf8.length;
+        System.arraycopy(utf8, 0, this.arena, ref + Integer.BYTES, utf8.length);
+        this.arenaSize = needed;
+        return ref;
+    }
+
+    private void addToDictionary(int ref, int hash) {
+        if ((this.dictionarySize + 1) * 2 > this.dictionary.length) {
+            int[] old = this.dictionary;
+            this.dictionary = new int[old.length * 2];
+            for (int entry : old) {
+                if (entry != 0) {
+                    insert(entry, hash(this.arena, entry - 1 + Integer.BYTES, readLength(entry - 1)));
+                }
+            }
+        }
+        insert(ref + 1, hash);
+        this.dictionarySize++;
+    }
+
+    private void insert(int entry, int hash) {
+        int mask = this.dictionary.length - 1;
+        int i = hash & mask;
+        while (this.dictionary[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        this.dictionary[i] = entry;
+    }
+
+    private int readLength(int ref) {
+        return (this.arena[ref] & 0xff) << 24 | (this.arena[ref + 1] & 0xff) << 16
+                | (this.arena[ref + 2] & 0xff) << 8 | (this.arena[ref + 3] & 0xff);
+    }
+
+    private String readString(int ref) {
+        return new String(this.arena, ref + Integer.BYTES, readLength(ref), StandardCharsets.UTF_8);
+    }
+
+    private static int hash(byte[] bytes, int start, int length) {
+        int hash = 1;
+        for (int i = start; i < start + length; i++) {
+            hash = 31 * hash + bytes[i];
+        }
+        return hash ^ (hash >>> 16);
+    }
+}
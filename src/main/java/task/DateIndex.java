@@ -0,0 +1,80 @@
+package task;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Represents an index from the days that deadlines are due to the IDs of the deadlines.
+ * The days are kept sorted, so the deadlines due in a range of days are found by visiting only the days in the
+ * range. Deadlines whose timing is free text have no day and are not indexed.
+ */
+class DateIndex {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private TreeMap<Integer, IdPostings> idsOfDay;
+
+    DateIndex() {
+        this.idsOfDay = new TreeMap<>();
+    }
+
+    /**
+     * Adds a deadline under the day it is due; other tasks are ignored.
+     *
+     * @param task the task, which has an ID
+     */
+    void add(Task task) {
+        if (isIndexed(task)) {
+            this.idsOfDay.computeIfAbsent(dayOf(task), key -> new IdPostings()).add(task.getId());
+        }
+    }
+
+    /**
+     * Removes a deadline from the day it is due; other tasks are ignored.
+     *
+     * @param task the task, as it was added
+     */
+    void remove(Task task) {
+        if (!isIndexed(task)) {
+            return;
+        }
+        int day = dayOf(task);
+        IdPostings postings = this.idsOfDay.get(day);
+        if (postings != null && postings.remove(task.getId()) && postings.size == 0) {
+            this.idsOfDay.remove(day);
+        }
+    }
+
+    /**
+     * Finds the deadlines due on the days of a range.
+     *
+     * @param fromDay the first epoch day of the range
+     * @param toDay the last epoch day of the range
+     * @return the IDs of the deadlines, day by day in ascending order
+     */
+    long[] find(int fromDay, int toDay) {
+        if (toDay < fromDay) {
+            return new long[0];
+        }
+        Map<Integer, IdPostings> days = this.idsOfDay.subMap(fromDay, true, toDay, true);
+        int total = 0;
+        for (IdPostings postings : days.values()) {
+            total += postings.size;
+        }
+        long[] ids = new long[total];
+        int count = 0;
+        for (IdPostings postings : days.values()) {
+            System.arraycopy(postings.ids, 0, ids, count, postings.size);
+            count += postings.size;
+        }
+        return ids;
+    }
+
+    private static boolean isIndexed(Task task) {
+        return task instanceof Deadline && ((Deadline) task).getTiming().hasDate();
+    }
+
+    private static int dayOf(Task task) {
+        return Math.floorDiv(((Deadline) task).getTiming().getStartMinute(), MINUTES_PER_DAY);
+    }
+}
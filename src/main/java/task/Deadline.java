@@ -1,22 +1,24 @@
 package task;
 
-import parser.TimeFormatter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 /**
  * Represents a Deadline task.
  */
 public class Deadline extends Task {
 
-    protected String by;
+    protected Timing by;
 
     /**
      * Constructor for the Deadline Task.
      *
      * @param name the name of the Deadline task
+     * @param by when the task is due, e.g. 2026-10-18, 2026-10-18 1800, tomorrow or free text
      */
     public Deadline(String name, String by) {
         super(name);
-        this.by = new TimeFormatter(by).parseToFormat();
+        this.by = Timing.parse(by.trim(), LocalDate.now());
     }
 
 
@@ -24,16 +26,50 @@ public class Deadline extends Task {
      * Constructor for the Deadline Task.
      *
      * @param name the name of the Deadline task
+     * @param by when the task is due, typed or in the display format
      * @param isDone the boolean value representing the status of the Deadline task
      */
     public Deadline(String name, String by, boolean isDone) {
+        this(name, Timing.parse(by), isDone);
+    }
+
+    /**
+     * Constructor for the Deadline Task.
+     *
+     * @param name the name of the Deadline task
+     * @param by when the task is due
+     * @param isDone the boolean value representing the status of the Deadline task
+     */
+    public Deadline(String name, Timing by, boolean isDone) {
         super(name, isDone);
         this.by = by;
     }
 
+    /**
+     * Returns when the task is due, as shown to the user.
+     *
+     * @return the formatted date, or the free text the user typed
+     */
+    public String getBy() {
+        return this.by.toString();
+    }
+
+    public Timing getTiming() {
+        return this.by;
+    }
+
+    /**
+     * Returns when the task is due; a deadline on a date is due at its midnight.
+     *
+     * @return the due date and time, or null if the deadline is free text
+     */
+    public LocalDateTime getDue() {
+        return this.by.getStart();
+    }
+
     @Override
-    public String toString() {
-        return "[D]" + super.toString() + " (by: "
+    protected String renderDisplay() {
+        return "[D]" + super.renderDisplay() + " (by: "
                 + this.by + ")";
     }
 
@@ -42,8 +78,9 @@ public class Deadline extends Task {
      *
      * @return Returns a summary of the Deadline task in the file format
      */
-    public String toStringFileFormat() {
-        return "D" + super.toStringFileFormat()
+    @Override
+    protected String renderFileFormat() {
+        return "D" + super.renderFileFormat()
                 + " | " + this.by;
     }
 }
@@ -1,38 +1,83 @@
 package task;
 
-import parser.TimeFormatter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 
 /**
  * Represents an Event task.
  */
 public class Event extends Task {
 
-    protected String duration;
+    protected Timing duration;
 
     /**
      * Constructor for Event Task.
      *
      * @param name the name of the Event task
+     * @param duration when the event takes place, e.g. 2026-10-18 1400-1600, next mon 1400-1600 or free text
      */
     public Event(String name, String duration) {
         super(name);
-        this.duration = duration;
+        this.duration = Timing.parse(duration, LocalDate.now());
     }
 
     /**
      * Constructor for the Event Task.
      *
      * @param name the name of the Event task
+     * @param duration when the event takes place, typed or in the display format
      * @param isDone the boolean value representing the status of the Event task
      */
     public Event(String name, String duration, boolean isDone) {
+        this(name, Timing.parse(duration), isDone);
+    }
+
+    /**
+     * Constructor for the Event Task.
+     *
+     * @param name the name of the Event task
+     * @param duration when the event takes place
+     * @param isDone the boolean value representing the status of the Event task
+     */
+    public Event(String name, Timing duration, boolean isDone) {
         super(name, isDone);
         this.duration = duration;
     }
 
+    /**
+     * Returns when the event takes place, as shown to the user.
+     *
+     * @return the formatted date or range, or the free text the user typed
+     */
+    public String getDuration() {
+        return this.duration.toString();
+    }
+
+    public Timing getTiming() {
+        return this.duration;
+    }
+
+    /**
+     * Returns when the event starts; an event on a date starts at its midnight.
+     *
+     * @return the start, or null if the event is free text
+     */
+    public LocalDateTime getStart() {
+        return this.duration.getStart();
+    }
+
+    /**
+     * Returns when the event ends; an event on a single date ends when it starts.
+     *
+     * @return the end, or null if the event is free text
+     */
+    public LocalDateTime getEnd() {
+        return this.duration.getEnd();
+    }
+
     @Override
-    public String toString() {
-        return "[E]" + super.toString() + " (at: "
+    protected String renderDisplay() {
+        return "[E]" + super.renderDisplay() + " (at: "
                 + this.duration + ")";
     }
 
@@ -41,8 +86,9 @@ public class Event extends Task {
      *
      * @return Returns a summary of the Event task in the file format
      */
-    public String toStringFileFormat() {
-        return "E" + super.toStringFileFormat()
+    @Override
+    protected String renderFileFormat() {
+        return "E" + super.renderFileFormat()
                 + " | " + this.duration;
     }
 }
@@ -0,0 +1,41 @@
+package task;
+
+import java.util.Arrays;
+
+/**
+ * Represents a set of task IDs kept in ascending order, e.g. the tasks containing one word.
+ * IDs are mostly added in ascending order, so adding is usually an append.
+ */
+class IdPostings {
+
+    long[] ids = new long[2];
+    int size;
+
+    void add(long id) {
+        int position = Arrays.binarySearch(this.ids, 0, this.size, id);
+        if (position >= 0) {
+            return;
+        }
+        position = -position - 1;
+        if (this.size == this.ids.length) {
+            this.ids = Arrays.copyOf(this.ids, this.size * 2);
+        }
+        System.arraycopy(this.ids, position, this.ids, position + 1, this.size - position);
+        this.ids[position] = id;
+        this.size++;
+    }
+
+    boolean remove(long id) {
+        int position = Arrays.binarySearch(this.ids, 0, this.size, id);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(this.ids, position + 1, this.ids, position, this.size - position - 1);
+        this.size--;
+        return true;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(this.ids, this.size);
+    }
+}
@@ -0,0 +1,240 @@
+package task;
+
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+/**
+ * Represents an interval tree over the events that have a date, keyed by when they start.
+ * An event takes the minutes from its start up to its end; an event on dates takes the whole days, and an event at a
+ * single time takes that minute. The tree is a treap: a binary search tree ordered by start and ID whose nodes also
+ * form a heap of random priorities, which keeps it balanced in expectation. Each node knows the latest end in its
+ * subtree, so a query skips every subtree that ends before the queried interval starts.
+ */
+class IntervalTree {
+
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private Node root;
+    private int size;
+    private Random random;
+
+    IntervalTree() {
+        this.random = new Random();
+    }
+
+    /**
+     * Adds an event; other tasks, and events whose timing is free text, are ignored.
+     *
+     * @param task the task, which has an ID
+     */
+    void add(Task task) {
+        if (isIndexed(task)) {
+            Timing timing = ((Event) task).getTiming();
+            this.root = insert(this.root, new Node(startOf(timing), endOf(timing), task.getId(),
+                    this.random.nextInt()));
+            this.size++;
+        }
+    }
+
+    /**
+     * Removes an event; other tasks are ignored.
+     *
+     * @param task the task, as it was added
+     */
+    void remove(Task task) {
+        if (isIndexed(task)) {
+            this.root = delete(this.root, startOf(((Event) task).getTiming()), task.getId());
+        }
+    }
+
+    /**
+     * Finds the events that overlap an event, which need not be in the tree.
+     *
+     * @param task the event
+     * @return the IDs of the overlapping events other than the event itself, by start
+     */
+    long[] findOverlapping(Task task) {
+        if (!isIndexed(task)) {
+            return new long[0];
+        }
+        Timing timing = ((Event) task).getTiming();
+        LongStream.Builder matches = LongStream.builder();
+        collectOverlapping(this.root, startOf(timing), endOf(timing), task.getId(), matches);
+        return matches.build().toArray();
+    }
+
+    /**
+     * Finds every pair of overlapping events with a sweep over the events in order of their start: the events that
+     * have not ended when an event starts overlap it.
+     *
+     * @return the IDs of the pairs, two by two; the first of each pair starts no later than the second
+     */
+    long[] findConflicts() {
+        Node[] byStart = new Node[this.size];
+        collectInOrder(this.root, byStart, 0);
+        PriorityQueue<Node> active = new PriorityQueue<>((first, second) -> Long.compare(first.end, second.end));
+        LongStream.Builder pairs = LongStream.builder();
+        for (Node node : byStart) {
+            while (!active.isEmpty() && active.peek().end <= node.start) {
+                active.poll();
+            }
+            for (Node other : active) {
+                pairs.add(other.id).add(node.id);
+            }
+            active.add(node);
+        }
+        return pairs.build().toArray();
+    }
+
+    private static boolean isIndexed(Task task) {
+        return task instanceof Event && ((Event) task).getTiming().hasDate();
+    }
+
+    private static long startOf(Timing timing) {
+        return timing.getStartMinute();
+    }
+
+    private static long endOf(Timing timing) {
+        if (!timing.hasTime()) {
+            return (long) timing.getEndMinute() + MINUTES_PER_DAY;
+        }
+        return Math.max(timing.getEndMinute(), (long) timing.getStartMinute() + 1);
+    }
+
+    private static int compare(long start, long id, Node node) {
+        return start != node.start ? Long.compare(start, node.start) : Long.compare(id, node.id);
+    }
+
+    private Node insert(Node node, Node added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.start, added.id, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node delete(Node node, long start, long id) {
+        if (node == null) {
+            return null;
+        }
+        int comparison = compare(start, id, node);
+        if (comparison == 0) {
+            this.size--;
+            return merge(node.left, node.right);
+        }
+        if (comparison < 0) {
+            node.left = delete(node.left, start, id);
+        } else {
+            node.right = delete(node.right, start, id);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * Joins two treaps, where every node of the first comes before every node of the second.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            first.right = merge(first.right, second);
+            first.update();
+            return first;
+        }
+        second.left = merge(first, second.left);
+        second.update();
+        return second;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        node.update();
+        left.right = node;
+        left.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        node.update();
+        right.left = node;
+        right.update();
+        return right;
+    }
+
+    private static void collectOverlapping(Node node, long start, long end, long exceptId,
+            LongStream.Builder matches) {
+        if (node == null || node.maxEnd <= start) {
+            return;
+        }
+        collectOverlapping(node.left, start, end, exceptId, matches);
+        if (node.start >= end) {
+            // the right subtree starts even later
+            return;
+        }
+        if (node.end > start && node.id != exceptId) {
+            matches.add(node.id);
+        }
+        collectOverlapping(node.right, start, end, exceptId, matches);
+    }
+
+    private static int collectInOrder(Node node, Node[] nodes, int count) {
+        if (node == null) {
+            return count;
+        }
+        count = collectInOrder(node.left, nodes, count);
+        nodes[count++] = node;
+        return collectInOrder(node.right, nodes, count);
+    }
+
+    /**
+     * Represents an event in the tree.
+     */
+    private static class Node {
+
+        private final long start;
+        private final long end;
+        private final long id;
+        private final int priority;
+        private long maxEnd;
+        private Node left;
+        private Node right;
+
+        Node(long start, long end, long id, int priority) {
+            this.start = start;
+            this.end = end;
+            this.id = id;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            this.maxEnd = this.end;
+            if (this.left != null) {
+                this.maxEnd = Math.max(this.maxEnd, this.left.maxEnd);
+            }
+            if (this.right != null) {
+                this.maxEnd = Math.max(this.maxEnd, this.right.maxEnd);
+            }
+        }
+    }
+}
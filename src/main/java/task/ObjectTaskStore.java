@@ -0,0 +1,73 @@
+package task;
+
+import java.util.ArrayList;
+
+/**
+ * Represents a TaskStore that keeps the Task objects themselves.
+ */
+public class ObjectTaskStore implements TaskStore {
+
+    private ArrayList<Task> slots;
+
+    public ObjectTaskStore() {
+        this(16);
+    }
+
+    public ObjectTaskStore(int capacity) {
+        this.slots = new ArrayList<>(capacity);
+    }
+
+    @Override
+    public TaskStore createEmpty(int capacity) {
+        return new ObjectTaskStore(capacity);
+    }
+
+    @Override
+    public int slotCount() {
+        return this.slots.size();
+    }
+
+    @Override
+    public void append(Task task) {
+        this.slots.add(task);
+    }
+
+    @Override
+    public Task get(int slot) {
+        return this.slots.get(slot);
+    }
+
+    @Override
+    public boolean isEmpty(int slot) {
+        return this.slots.get(slot) == null;
+    }
+
+    @Override
+    public long getId(int slot) {
+        return this.slots.get(slot).getId();
+    }
+
+    @Override
+    public void setDone(int slot, boolean isDone) {
+        if (isDone) {
+            this.slots.get(slot).markAsDone();
+        } else {
+            this.slots.get(slot).markAsUndone();
+        }
+    }
+
+    @Override
+    public void clear(int slot) {
+        this.slots.set(slot, null);
+    }
+
+    @Override
+    public void restore(int slot, Task task) {
+        this.slots.set(slot, task);
+    }
+
+    @Override
+    public void compact() {
+        this.slots.removeIf(task -> task == null);
+    }
+}
@@ -0,0 +1,118 @@
+package task;
+
+import java.util.function.IntPredicate;
+
+/**
+ * Represents a hash table of the slots of a TaskStore, keyed by a hash that the caller computes from the content
+ * of each slot. The table keeps no keys of its own; a lookup asks the caller whether a slot with a matching hash
+ * holds the wanted key. Linear probing with backward-shift deletion keeps the table free of tombstones, so it can be
+ * filled up to three quarters.
+ */
+class SlotIndex {
+
+    private int[] entries;
+    private int[] hashes;
+    private int count;
+
+    /**
+     * Constructor of the SlotIndex class.
+     *
+     * @param capacity the number of slots expected in the table
+     */
+    SlotIndex(int capacity) {
+        int length = Integer.highestOneBit(Math.max(16, capacity + capacity / 3)) << 1;
+        this.entries = new int[length];
+        this.hashes = new int[length];
+    }
+
+    /**
+     * Adds a slot under a hash.
+     *
+     * @param hash the hash of the key of the slot
+     * @param slot the slot
+     */
+    void add(int hash, int slot) {
+        if ((this.count + 1) * 4L > this.entries.length * 3L) {
+            resize();
+        }
+        insert(spread(hash), slot + 1);
+        this.count++;
+    }
+
+    /**
+     * Finds a slot whose key matches.
+     *
+     * @param hash the hash of the wanted key
+     * @param isMatch tells whether a slot holds the wanted key
+     * @return the first matching slot, or -1 if none matches
+     */
+    int find(int hash, IntPredicate isMatch) {
+        int spread = spread(hash);
+        int mask = this.entries.length - 1;
+        for (int i = spread & mask; this.entries[i] != 0; i = (i + 1) & mask) {
+            if (this.hashes[i] == spread && isMatch.test(this.entries[i] - 1)) {
+                return this.entries[i] - 1;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Removes a slot that was added under a hash.
+     *
+     * @param hash the hash the slot was added under
+     * @param slot the slot
+     */
+    void remove(int hash, int slot) {
+        int spread = spread(hash);
+        int mask = this.entries.length - 1;
+        int i = spread & mask;
+        while (this.entries[i] != slot + 1) {
+            if (this.entries[i] == 0) {
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        this.count--;
+        // move later entries of the probe sequence back so that no lookup stops at the hole
+        int hole = i;
+        for (int j = (hole + 1) & mask; this.entries[j] != 0; j = (j + 1) & mask) {
+            int home = this.hashes[j] & mask;
+            boolean isBehindHole = hole <= j ? home <= hole || home > j : home <= hole && home > j;
+            if (isBehindHole) {
+                this.entries[hole] = this.entries[j];
+                this.hashes[hole] = this.hashes[j];
+                hole = j;
+            }
+        }
+        this.entries[hole] = 0;
+        this.hashes[hole] = 0;
+    }
+
+    private void resize() {
+        int[] oldEntries = this.entries;
+        int[] oldHashes = this.hashes;
+        this.entries = new int[oldEntries.length * 2];
+        this.hashes = new int[oldHashes.length * 2];
+        for (int i = 0; i < oldEntries.length; i++) {
+            if (oldEntries[i] != 0) {
+                insert(oldHashes[i], oldEntries[i]);
+            }
+        }
+    }
+
+    private void insert(int spread, int entry) {
+        int mask = this.entries.length - 1;
+        int i = spread & mask;
+        while (this.entries[i] != 0) {
+            i = (i + 1) & mask;
+        }
+        this.entries[i] = entry;
+        this.hashes[i] = spread;
+    }
+
+    private static int spread(int hash) {
+        int spread = hash * 0x9E3779B9;
+        return spread ^ (spread >>> 16);
+    }
+}
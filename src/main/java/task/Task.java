@@ -2,11 +2,22 @@ package task;
 
 /**
  * Represents a task.
+ * The display and file format strings of a task are rendered once and cached until the task changes. Subclasses
+ * render through renderDisplay and renderFileFormat, and every method that changes what a task shows must call
+ * invalidateRendering. Each cached string is kept together with the name and status it shows in one immutable
+ * object, so threads that render a task at the same time, e.g. while reading a TaskList, never see a string of
+ * another status.
  */
 public class Task {
 
+    /** The ID of a task that has not been added to a task list yet. */
+    public static final long NO_ID = 0;
+
     public String name;
     public boolean isDone;
+    private long id;
+    private Rendering display;
+    private Rendering fileFormat;
 
     /**
      * Constructor for Task.
@@ -34,10 +45,41 @@ public class Task {
      */
     public void markAsDone() {
         this.isDone = true;
+        invalidateRendering();
     }
 
     public void markAsUndone() {
         this.isDone = false;
+        invalidateRendering();
+    }
+
+    /**
+     * Drops the cached display and file format strings, so that they are rendered again when next asked for.
+     */
+    protected void invalidateRendering() {
+        this.display = null;
+        this.fileFormat = null;
+    }
+
+    /**
+     * Checks that a cached string shows the current name and status; the fields are public, so writes that bypass
+     * the setters are caught here.
+     */
+    private boolean isCurrent(Rendering rendering) {
+        return rendering != null && rendering.name == this.name && rendering.isDone == this.isDone;
+    }
+
+    /**
+     * Gets the ID of the task, which stays the same while the task exists, also across restarts.
+     *
+     * @return the ID, or NO_ID if the task has not been added to a task list
+     */
+    public long getId() {
+        return this.id;
+    }
+
+    public void setId(long id) {
+        this.id = id;
     }
 
     /**
@@ -45,7 +87,28 @@ public class Task {
      *
      * @return Returns a summary of the task, including description and the status icon
      */
+    @Override
     public String toString() {
+        Rendering cached = this.display;
+        if (isCurrent(cached)) {
+            return cached.text;
+        }
+        String name = this.name;
+        boolean isDone = this.isDone;
+        String text = renderDisplay();
+        if (this.name == name && this.isDone == isDone) {
+            // the task did not change while it was rendered
+            this.display = new Rendering(name, isDone, text);
+        }
+        return text;
+    }
+
+    /**
+     * Renders the summary of the task that toString returns.
+     *
+     * @return a summary of the task, including description and the status icon
+     */
+    protected String renderDisplay() {
         String mark;
         if (this.isDone) {
             //mark = "[" + "\u2713" + "]";
@@ -63,6 +126,26 @@ public class Task {
      * @return Returns a summary of the task in the file format
      */
     public String toStringFileFormat() {
+        Rendering cached = this.fileFormat;
+        if (isCurrent(cached)) {
+            return cached.text;
+        }
+        String name = this.name;
+        boolean isDone = this.isDone;
+        String text = renderFileFormat();
+        if (this.name == name && this.isDone == isDone) {
+            // the task did not change while it was rendered
+            this.fileFormat = new Rendering(name, isDone, text);
+        }
+        return text;
+    }
+
+    /**
+     * Renders the summary of the task that toStringFileFormat returns.
+     *
+     * @return a summary of the task in the file format
+     */
+    protected String renderFileFormat() {
         int num;
         if (isDone) {
             num = 1;
@@ -71,4 +154,20 @@ public class Task {
         }
         return " | " + num + " | " + this.name;
     }
+
+    /**
+     * Represents a cached string and the name and status it shows.
+     */
+    private static class Rendering {
+
+        private final String name;
+        private final boolean isDone;
+        private final String text;
+
+        Rendering(String name, boolean isDone, String text) {
+            this.name = name;
+            this.isDone = isDone;
+            this.text = text;
+        }
+    }
 }
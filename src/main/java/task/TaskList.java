@@ -1,100 +1,685 @@
 package task;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Supplier;
 import exception.DukeException;
 
+/**
+ * Represents the list of tasks.
+ * Every task in the list has a unique ID. The tasks are kept in the slots of a TaskStore in list order; deleting a
+ * task empties its slot instead of shifting the tasks after it, and a Fenwick tree over the filled slots converts
+ * between the index a user sees and the slot. The slots are compacted once they hold more empty slots than tasks.
+ * Hash indexes over the slots find a task by ID, and find a task that an added task would duplicate, without
+ * scanning the list. An inverted index from words to task IDs answers word and prefix searches, and a trigram index
+ * narrows substring searches. Bitmaps over the slots mark the undone tasks and the tasks of each type, so reminders
+ * only visit the tasks they show. A sorted index from days to the undone deadlines due on them answers date range
+ * queries, and an interval tree over the undone events finds the events that overlap. The rendered task of each
+ * slot is cached for listing, so a page of the list is rendered in time proportional to the page.
+ * Every change also makes a new persistent TaskVersion of the list in O(log n), which tells what the change was.
+ * The list can be shared by threads. A StampedLock lets one change run at a time. Reads of a single field, i.e. the
+ * size and a task by index, first run optimistically, without taking the lock or blocking changes, and are kept if
+ * no change started meanwhile; otherwise they run again under the read lock. Every other read, e.g. a listing or a
+ * search, holds the read lock, so it never works through a half done change. The tasks themselves are handed out
+ * one by one, or as an immutable snapshot, never as the list the changes go to.
+ */
 public class TaskList {
 
-    private ArrayList<Task> list;
+    private static final int MIN_COMPACTION_HOLES = 64;
+    private static final String TYPE_LETTERS = "?TDE";
+
+    private TaskStore store;
+    private int[] filledTree;
+    private int size;
+    private SlotIndex idIndex;
+    private SlotIndex keyIndex;
+    private TokenIndex tokenIndex;
+    private TrigramIndex trigramIndex;
+    private DateIndex dateIndex;
+    private IntervalTree eventTree;
+    private BitSet undoneSlots;
+    private BitSet[] typeSlots;
+    private long nextId;
+    private String[] renderedSlots;
+    private volatile TaskVersion version;
+    private final StampedLock lock;
 
     public TaskList() {
-        this.list = new ArrayList<>();
+        this(new ArrayList<>());
     }
 
     public TaskList(ArrayList<Task> passedList) {
-        this.list = passedList;
+        this(passedList, new ObjectTaskStore());
+    }
+
+    /**
+     * Constructor of the TaskList class.
+     *
+     * @param passedList the tasks of the list
+     * @param emptyStore an empty store of the kind that keeps the tasks
+     */
+    public TaskList(ArrayList<Task> passedList, TaskStore emptyStore) {
+        this.nextId = Task.NO_ID + 1;
+        this.store = emptyStore;
+        this.lock = new StampedLock();
+        renewList(passedList);
     }
 
     /**
      * Renews the existing task list.
+     * Tasks without an ID, or with the ID of an earlier task in the list, get a new ID.
      *
      * @param newList the new task list
      */
     public void renewList(ArrayList<Task> newList) {
-        this.list = newList;
+        long stamp = this.lock.writeLock();
+        try {
+            rebuild(newList);
+            this.version = TaskVersion.of(newList);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    private void rebuild(ArrayList<Task> newList) {
+        this.store = this.store.createEmpty(newList.size());
+        this.idIndex = new SlotIndex(newList.size());
+        this.keyIndex = new SlotIndex(newList.size());
+        this.tokenIndex = new TokenIndex();
+        this.trigramIndex = new TrigramIndex();
+        this.dateIndex = new DateIndex();
+        this.eventTree = new IntervalTree();
+        clearBitmaps();
+        this.renderedSlots = new String[Math.max(16, newList.size())];
+        this.size = newList.size();
+        for (Task task : newList) {
+            this.nextId = Math.max(this.nextId, task.getId() + 1);
+        }
+        for (Task task : newList) {
+            if (task.getId() == Task.NO_ID || findSlot(task.getId()) >= 0) {
+                task.setId(this.nextId++);
+            }
+            indexTask(this.store.slotCount(), task);
+            this.store.append(task);
+        }
+        buildFilledTree();
+    }
+
+    /**
+     * Counts the tasks.
+     *
+     * @return the number of tasks in the list
+     */
+    public int size() {
+        return readOptimistically(() -> this.size);
+    }
+
+    /**
+     * Gets a task. A store that does not keep Task objects returns a copy; see TaskStore.get.
+     *
+     * @param index the index of the task
+     * @return the task
+     */
+    public Task get(int index) {
+        return readOptimistically(() -> this.store.get(select(index)));
+    }
+
+    /**
+     * Takes a snapshot of the tasks, e.g. to persist or iterate over them while the list may change.
+     * It takes O(1) time, as it views the current TaskVersion; reading a task from it takes O(log n) time.
+     *
+     * @return the tasks in list order, as they are now
+     */
+    public List<Task> snapshot() {
+        return this.version.asList();
     }
 
     /**
-     * Gets the ArrayList of Task of the current task list.
+     * Gets the current version of the list.
      *
-     * @return an Array List of Task objects
+     * @return the version, which does not change when the list changes later
      */
-    public ArrayList<Task> getList() {
-        return this.list;
+    public TaskVersion getVersion() {
+        return this.version;
     }
 
     /**
      * Adds a new task to the task list.
+     * The task keeps its ID, e.g. when a deleted task is added back, unless it has none or the ID is taken.
      *
      * @param addedTask the newly added Task
+     * @return true if the task was added, false if it duplicates an existing task
      */
-    public void add(Task addedTask) {
-        boolean isDuplicated = false;
-        for (int i = 0; i < this.list.size(); i++) {
-            if (addedTask.toString().equalsIgnoreCase(this.list.get(i).toString())) {
-                isDuplicated = true;
-                break;
+    public boolean add(Task addedTask) {
+        String key = toDuplicateKey(addedTask);
+        long stamp = this.lock.writeLock();
+        try {
+            if (this.keyIndex.find(key.hashCode(), slot -> key.equals(toDuplicateKey(this.store.get(slot)))) >= 0) {
+                return false;
             }
+            if (addedTask.getId() == Task.NO_ID || findSlot(addedTask.getId()) >= 0) {
+                addedTask.setId(this.nextId);
+            }
+            this.nextId = Math.max(this.nextId, addedTask.getId() + 1);
+            this.version = this.version.insert(this.size, addedTask);
+            append(addedTask);
+            return true;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    private void append(Task task) {
+        indexTask(this.store.slotCount(), task);
+        this.store.append(task);
+        if (this.store.slotCount() > this.renderedSlots.length) {
+            this.renderedSlots = Arrays.copyOf(this.renderedSlots, this.renderedSlots.length * 2);
+        }
+        appendFilled();
+        this.size++;
+    }
+
+    /**
+     * Inserts a task at an index, e.g. to put a deleted task back where it was. The task is not checked for
+     * duplicates, and keeps its ID unless it has none or the ID is taken. The task fills the empty slot after the
+     * task before the index if there is one, which keeps the other slots in place; otherwise the slots are built again.
+     *
+     * @param index the index the task gets
+     * @param task the task
+     */
+    public void insert(int index, Task task) {
+        long stamp = this.lock.writeLock();
+        try {
+            insertLocked(index, task);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    private void insertLocked(int index, Task task) {
+        if (index < 0 || index > this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
         }
-        if (!isDuplicated) {
-            this.list.add(addedTask);
+        if (task.getId() == Task.NO_ID || findSlot(task.getId()) >= 0) {
+            task.setId(this.nextId);
         }
+        this.nextId = Math.max(this.nextId, task.getId() + 1);
+        this.version = this.version.insert(index, task);
+        int before = index == 0 ? -1 : select(index - 1);
+        if (index == this.size && before == this.store.slotCount() - 1) {
+            append(task);
+            return;
+        }
+        int after = index == this.size ? this.store.slotCount() : select(index);
+        if (after - before <= 1) {
+            ArrayList<Task> tasks = toTasks();
+            tasks.add(index, task);
+            rebuild(tasks);
+            return;
+        }
+        int slot = before + 1;
+        indexTask(slot, task);
+        this.store.restore(slot, task);
+        this.renderedSlots[slot] = null;
+        updateFilled(slot, 1);
+        this.size++;
     }
 
     /**
      * Removes a task from the task list.
      *
      * @param removedTask the removed Task
+     * @return the index of the removed task, or -1 if the task is not in the list
      */
-    public void remove(Task removedTask) {
-        for (int i = 0; i < this.list.size(); i++) {
-            if (removedTask.toString().equals(this.list.get(i).toString())) {
-                this.list.remove(i);
+    public int remove(Task removedTask) {
+        long stamp = this.lock.writeLock();
+        try {
+            int slot = findSlot(removedTask.getId());
+            if (slot < 0) {
+                return -1;
             }
+            int index = rank(slot);
+            deleteVersion(index);
+            clearSlot(slot);
+            return index;
+        } finally {
+            this.lock.unlockWrite(stamp);
         }
     }
 
     /**
-     * Deletes a task from the task list.
+     * Deletes a task from the task list. Checking the index and deleting the task is one step, so another thread
+     * cannot delete a task in between.
      *
      * @param index the index of the task being deleted
+     * @return the deleted task, or null if no task has the index
      */
-    public void delete(int index) {
-        this.list.remove(index);
+    public Task delete(int index) {
+        long stamp = this.lock.writeLock();
+        try {
+            if (index < 0 || index >= this.size) {
+                return null;
+            }
+            int slot = select(index);
+            deleteVersion(index);
+            Task deletedTask = this.version.getTask();
+            clearSlot(slot);
+            return deletedTask;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
     }
 
     /**
-     * Marks one task as done.
+     * Makes the version without a task. The deleted task is marked as it was in the list, as a store that does not
+     * keep Task objects only marks its own copy.
+     */
+    private void deleteVersion(int index) {
+        this.version = this.version.delete(index);
+        TaskVersion.markAs(this.version.getTask(), this.version.isTaskDone());
+    }
+
+    /**
+     * Marks one task as done. Checking the index and marking the task is one step.
      *
      * @param index the index of the task being done
+     * @return the task, or null if no task has the index
      */
-    public void done(int index) {
-        this.list.get(index).markAsDone();
+    public Task done(int index) {
+        long stamp = this.lock.writeLock();
+        try {
+            if (index < 0 || index >= this.size) {
+                return null;
+            }
+            int slot = select(index);
+            if (markSlot(slot, true)) {
+                this.version = this.version.setDone(index, true);
+            }
+            return this.store.get(slot);
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
     }
 
     /**
      * Marks one task as undone.
      *
      * @param givenTask the task that is to be marked as undone
+     * @return the index of the undone task, or -1 if the task is not in the list
+     */
+    public int unDone(Task givenTask) {
+        long stamp = this.lock.writeLock();
+        try {
+            int slot = findSlot(givenTask.getId());
+            if (slot < 0) {
+                return -1;
+            }
+            int index = rank(slot);
+            if (markSlot(slot, false)) {
+                this.version = this.version.setDone(index, false);
+            }
+            givenTask.markAsUndone();
+            return index;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Marks the task in a slot as done or undone, and adds it to or removes it from the indexes of undone tasks.
+     *
+     * @return true if the task was marked the other way before
+     */
+    private boolean markSlot(int slot, boolean isDone) {
+        boolean wasDone = !this.undoneSlots.get(slot);
+        this.store.setDone(slot, isDone);
+        this.renderedSlots[slot] = null;
+        if (wasDone == isDone) {
+            return false;
+        }
+        if (this.typeSlots[TYPE_LETTERS.indexOf('D')].get(slot)
+                || this.typeSlots[TYPE_LETTERS.indexOf('E')].get(slot)) {
+            Task task = this.store.get(slot);
+            if (isDone) {
+                this.dateIndex.remove(task);
+                this.eventTree.remove(task);
+            } else {
+                this.dateIndex.add(task);
+                this.eventTree.add(task);
+            }
+        }
+        this.undoneSlots.set(slot, !isDone);
+        return true;
+    }
+
+    /**
+     * Finds the index of the task with the given ID.
+     *
+     * @param id the ID of the task
+     * @return the index of the task, or -1 if no task has the ID
+     */
+    public int indexOf(long id) {
+        return read(() -> {
+            int slot = findSlot(id);
+            return slot < 0 ? -1 : rank(slot);
+        });
+    }
+
+    private int findSlot(long id) {
+        return this.idIndex.find(Long.hashCode(id), slot -> this.store.getId(slot) == id);
+    }
+
+    /**
+     * Finds the tasks whose name or date contains the words of a query.
+     * Terms separated by spaces must all match and "or" separates alternatives; a term ending with * matches
+     * every word that starts with it. Letters are compared case-insensitively.
+     *
+     * @param query the query, e.g. "book* or project meeting"
+     * @return the matching tasks in list order
+     */
+    public List<Task> search(String query) {
+        return read(() -> toTasksInListOrder(this.tokenIndex.search(query)));
+    }
+
+    private List<Task> toTasksInListOrder(long[] ids) {
+        int[] slots = new int[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            slots[i] = findSlot(ids[i]);
+        }
+        Arrays.sort(slots);
+        ArrayList<Task> tasks = new ArrayList<>(slots.length);
+        for (int slot : slots) {
+            tasks.add(this.store.get(slot));
+        }
+        return tasks;
+    }
+
+    /**
+     * Finds the tasks that may contain a text, for a substring search over the lowercased rendering of the tasks.
+     * Every task containing the text is among the candidates, but not every candidate contains it. A text shorter
+     * than a trigram cannot be narrowed down, so every task is a candidate.
+     *
+     * @param lowerCaseText the lowercased text
+     * @return the candidate tasks in list order
+     */
+    public List<Task> findCandidates(String lowerCaseText) {
+        return read(() -> {
+            if (lowerCaseText.length() < TrigramIndex.GRAM_LENGTH) {
+                return toTasks();
+            }
+            int[] slots = this.trigramIndex.findCandidates(lowerCaseText);
+            ArrayList<Task> candidates = new ArrayList<>(slots.length);
+            for (int slot : slots) {
+                if (!this.store.isEmpty(slot)) {
+                    candidates.add(this.store.get(slot));
+                }
+            }
+            return candidates;
+        });
+    }
+
+    /**
+     * Finds the undone events that overlap an event.
+     *
+     * @param task the event, which need not be in the list
+     * @return the overlapping events other than the event itself in list order, or an empty list if the task is not
+     *     an event with a date
+     */
+    public List<Task> findOverlapping(Task task) {
+        return read(() -> toTasksInListOrder(this.eventTree.findOverlapping(task)));
+    }
+
+    /**
+     * Finds every pair of undone events that overlap.
+     *
+     * @return the pairs in the order the later event of each pair starts; the first event of a pair starts no later
+     *     than the second
+     */
+    public List<Task[]> findConflicts() {
+        return read(() -> {
+            long[] ids = this.eventTree.findConflicts();
+            ArrayList<Task[]> pairs = new ArrayList<>(ids.length / 2);
+            for (int i = 0; i < ids.length; i += 2) {
+                pairs.add(new Task[] {this.store.get(findSlot(ids[i])), this.store.get(findSlot(ids[i + 1]))});
+            }
+            return pairs;
+        });
+    }
+
+    /**
+     * Counts the undone tasks.
+     *
+     * @return the number of tasks that are not done
+     */
+    public int countUndone() {
+        return read(() -> this.undoneSlots.cardinality());
+    }
+
+    /**
+     * Runs a read of a single field of the list. It first runs optimistically, and is kept if no change started
+     * meanwhile; a read that overlapped a change, and may have seen it half done or even failed on it, runs again
+     * under the read lock. It must not fill caches, as it could fill them with what a change left half done.
+     *
+     * @param reader the read
+     * @return the result of the read
      */
-    public void unDone(Task givenTask) {
-        for (int i = 0; i < this.list.size(); i++) {
-            if (givenTask.toString().equals(this.list.get(i).toString())) {
-                this.list.get(i).markAsUndone();
-                givenTask.markAsUndone();
+    private <T> T readOptimistically(Supplier<T> reader) {
+        long stamp = this.lock.tryOptimisticRead();
+        if (stamp != 0) {
+            try {
+                T result = reader.get();
+                if (this.lock.validate(stamp)) {
+                    return result;
+                }
+            } catch (RuntimeException exp) {
+                // a change moved the state under the read; read again under the lock
             }
         }
+        return read(reader);
+    }
 
+    /**
+     * Runs a read of the list under the read lock.
+     *
+     * @param reader the read
+     * @return the result of the read
+     */
+    private <T> T read(Supplier<T> reader) {
+        long stamp = this.lock.readLock();
+        try {
+            return reader.get();
+        } finally {
+            this.lock.unlockRead(stamp);
+        }
+    }
+
+    /**
+     * Lists the tasks in list order, walking the slots.
+     */
+    private ArrayList<Task> toTasks() {
+        ArrayList<Task> tasks = new ArrayList<>(this.size);
+        for (int slot = 0; slot < this.store.slotCount(); slot++) {
+            if (!this.store.isEmpty(slot)) {
+                tasks.add(this.store.get(slot));
+            }
+        }
+        return tasks;
+    }
+
+    private void indexTask(int slot, Task task) {
+        indexSlot(slot, task);
+        this.tokenIndex.add(task);
+        this.trigramIndex.add(slot, task);
+        if (!task.isDone) {
+            this.dateIndex.add(task);
+            this.eventTree.add(task);
+        }
+    }
+
+    private void indexSlot(int slot, Task task) {
+        this.idIndex.add(Long.hashCode(task.getId()), slot);
+        this.keyIndex.add(toDuplicateKey(task).hashCode(), slot);
+        this.typeSlots[typeOf(task)].set(slot);
+        this.undoneSlots.set(slot, !task.isDone);
+    }
+
+    private void clearBitmaps() {
+        this.undoneSlots = new BitSet();
+        this.typeSlots = new BitSet[TYPE_LETTERS.length()];
+        for (int type = 0; type < this.typeSlots.length; type++) {
+            this.typeSlots[type] = new BitSet();
+        }
+    }
+
+    /**
+     * Gets the position of the type of a task in TYPE_LETTERS.
+     */
+    private static int typeOf(Task task) {
+        if (task instanceof Todo) {
+            return 1;
+        } else if (task instanceof Deadline) {
+            return 2;
+        } else if (task instanceof Event) {
+            return 3;
+        } else {
+            return 0;
+        }
+    }
+
+    private void clearSlot(int slot) {
+        Task task = this.store.get(slot);
+        this.idIndex.remove(Long.hashCode(task.getId()), slot);
+        this.keyIndex.remove(toDuplicateKey(task).hashCode(), slot);
+        this.typeSlots[typeOf(task)].clear(slot);
+        this.undoneSlots.clear(slot);
+        this.tokenIndex.remove(task);
+        this.dateIndex.remove(task);
+        this.eventTree.remove(task);
+        this.store.clear(slot);
+        this.renderedSlots[slot] = null;
+        updateFilled(slot, -1);
+        this.size--;
+        int holes = this.store.slotCount() - this.size;
+        if (holes >= MIN_COMPACTION_HOLES && holes > this.size) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        String[] rendered = new String[this.renderedSlots.length];
+        int filled = 0;
+        for (int slot = 0; slot < this.store.slotCount(); slot++) {
+            if (!this.store.isEmpty(slot)) {
+                rendered[filled++] = this.renderedSlots[slot];
+            }
+        }
+        this.renderedSlots = rendered;
+        this.store.compact();
+        this.idIndex = new SlotIndex(this.size);
+        this.keyIndex = new SlotIndex(this.size);
+        this.trigramIndex = new TrigramIndex();
+        clearBitmaps();
+        for (int slot = 0; slot < this.store.slotCount(); slot++) {
+            Task task = this.store.get(slot);
+            indexSlot(slot, task);
+            this.trigramIndex.add(slot, task);
+        }
+        buildFilledTree();
+    }
+
+    private void buildFilledTree() {
+        int n = this.store.slotCount();
+        this.filledTree = new int[Math.max(16, n + 1)];
+        for (int i = 1; i <= n; i++) {
+            this.filledTree[i] += this.store.isEmpty(i - 1) ? 0 : 1;
+            int parent = i + (i & -i);
+            if (parent <= n) {
+                this.filledTree[parent] += this.filledTree[i];
+            }
+        }
+    }
+
+    /**
+     * Extends the Fenwick tree by the filled slot that was just appended.
+     * No existing node covers the new position, so only its own node is computed.
+     */
+    private void appendFilled() {
+        int position = this.store.slotCount();
+        if (position >= this.filledTree.length) {
+            this.filledTree = Arrays.copyOf(this.filledTree, this.filledTree.length * 2);
+        }
+        this.filledTree[position] = 1 + prefixCount(position - 1) - prefixCount(position - (position & -position));
+    }
+
+    private void updateFilled(int slot, int delta) {
+        for (int i = slot + 1; i <= this.store.slotCount(); i += i & -i) {
+            this.filledTree[i] += delta;
+        }
+    }
+
+    private int prefixCount(int position) {
+        int count = 0;
+        for (int i = position; i > 0; i -= i & -i) {
+            count += this.filledTree[i];
+        }
+        return count;
+    }
+
+    /**
+     * Converts a slot to the index of its task.
+     */
+    private int rank(int slot) {
+        return prefixCount(slot);
+    }
+
+    /**
+     * Converts the index of a task to its slot.
+     */
+    private int select(int index) {
+        if (index < 0 || index >= this.size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + this.size);
+        }
+        int position = 0;
+        int remaining = index;
+        int slotCount = this.store.slotCount();
+        for (int step = Integer.highestOneBit(slotCount); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= slotCount && this.filledTree[next] <= remaining) {
+                position = next;
+                remaining -= this.filledTree[next];
+            }
+        }
+        return position;
+    }
+
+    /**
+     * Builds the key under which two tasks count as duplicates: the type, the case-folded name and the date.
+     * The name is trimmed, as a text file keeps it, so a task typed again still matches after such a file is loaded.
+     *
+     * @param task the task
+     * @return the duplicate key of the task
+     */
+    private static String toDuplicateKey(Task task) {
+        String type;
+        String date = "";
+        if (task instanceof Deadline) {
+            type = "D";
+            date = ((Deadline) task).getBy();
+        } else if (task instanceof Event) {
+            type = "E";
+            date = ((Event) task).getDuration();
+        } else if (task instanceof Todo) {
+            type = "T";
+        } else {
+            type = "";
+        }
+        return type + '\0' + task.name.trim().toLowerCase(Locale.ROOT) + '\0' + date.toLowerCase(Locale.ROOT);
     }
 
     /**
@@ -103,9 +688,39 @@ public class TaskList {
      * @return a string representing all the tasks in the list
      */
     public String toListString() {
+        return read(() -> renderRange(0, this.size));
+    }
+
+    /**
+     * Represents a range of the list in one string, numbered as in the whole list.
+     * Tasks are rendered once and the rendering is kept until the task changes, so the cost is proportional to the
+     * range, not to the list.
+     *
+     * @param from the index of the first task, inclusive
+     * @param to the index after the last task, exclusive; indexes past the end are ignored
+     * @return a string representing the tasks in the range, or an empty string if the range is empty
+     */
+    public String toListString(int from, int to) {
+        return read(() -> renderRange(from, to));
+    }
+
+    private String renderRange(int from, int to) {
         StringBuilder sb = new StringBuilder();
-        for (int i = 0; i < this.list.size(); i++) {
-            sb.append("     " + (i + 1) + ". " + this.list.get(i).toString() + "\n");
+        int end = Math.min(to, this.size);
+        if (from >= end) {
+            return "";
+        }
+        int slot = select(from);
+        for (int index = from; index < end; index++, slot++) {
+            while (this.store.isEmpty(slot)) {
+                slot++;
+            }
+            String rendered = this.renderedSlots[slot];
+            if (rendered == null) {
+                rendered = this.store.get(slot).toString();
+                this.renderedSlots[slot] = rendered;
+            }
+            sb.append("     ").append(index + 1).append(". ").append(rendered).append("\n");
         }
         return sb.toString();
     }
@@ -117,13 +732,84 @@ public class TaskList {
      * @return a string representing all the undone tasks in the list
      */
     public String toUndoneListString() {
+        return read(() -> toSlotListString(this.undoneSlots));
+    }
+
+    /**
+     * Represents the list of undone tasks of one type in one string.
+     *
+     * @param taskType the letter of the type as shown in the list, i.e. T, D or E
+     * @return a string representing the undone tasks of the type, or an empty string if there are none
+     */
+    public String toUndoneListString(char taskType) {
+        int type = TYPE_LETTERS.indexOf(taskType);
+        if (type <= 0) {
+            return "";
+        }
+        return read(() -> {
+            BitSet slots = (BitSet) this.typeSlots[type].clone();
+            slots.and(this.undoneSlots);
+            return toSlotListString(slots);
+        });
+    }
+
+    /**
+     * Represents the undone deadlines due on the days of a range in one string, in the order they are due.
+     *
+     * @param from the first day of the range, or null for no first day
+     * @param to the last day of the range, or null for no last day
+     * @return a string representing the deadlines, or an empty string if there are none
+     */
+    public String toDueListString(LocalDate from, LocalDate to) {
+        int fromDay = from == null ? Integer.MIN_VALUE : (int) from.toEpochDay();
+        int toDay = to == null ? Integer.MAX_VALUE : (int) to.toEpochDay();
+        return read(() -> toDeadlineListString(this.dateIndex.find(fromDay, toDay), null));
+    }
+
+    /**
+     * Represents the undone deadlines that are past due in one string, in the order they were due.
+     * A deadline on a date is overdue from the next day on; one with a time is overdue from that time on.
+     *
+     * @param now the current date and time
+     * @return a string representing the deadlines, or an empty string if there are none
+     */
+    public String toOverdueListString(LocalDateTime now) {
+        int toDay = (int) now.toLocalDate().toEpochDay();
+        return read(() -> toDeadlineListString(this.dateIndex.find(Integer.MIN_VALUE, toDay), now));
+    }
+
+    /**
+     * Lists deadlines by due time, then in list order; with a current time, only those that are overdue.
+     */
+    private String toDeadlineListString(long[] ids, LocalDateTime now) {
+        long[] keys = new long[ids.length];
+        int count = 0;
+        for (long id : ids) {
+            int slot = findSlot(id);
+            Deadline deadline = (Deadline) this.store.get(slot);
+            if (now == null || isOverdue(deadline, now)) {
+                // the due minute is signed and the slot is not, so the keys sort by minute, then by slot
+                keys[count++] = (long) deadline.getTiming().getStartMinute() << 32 | slot;
+            }
+        }
+        Arrays.sort(keys, 0, count);
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            sb.append("     ").append(i + 1).append(". ").append(this.store.get((int) keys[i])).append("\n");
+        }
+        return sb.toString();
+    }
+
+    private static boolean isOverdue(Deadline deadline, LocalDateTime now) {
+        LocalDateTime due = deadline.getDue();
+        return deadline.getTiming().hasTime() ? due.isBefore(now) : due.toLocalDate().isBefore(now.toLocalDate());
+    }
+
+    private String toSlotListString(BitSet slots) {
         StringBuilder sb = new StringBuilder();
         int marker = 1;
-        for (int i = 0; i < this.list.size(); i++) {
-            if (this.list.get(i).isDone) {
-                continue;
-            }
-            sb.append("     " + marker + ". " + this.list.get(i).toString() + "\n");
+        for (int slot = slots.nextSetBit(0); slot >= 0; slot = slots.nextSetBit(slot + 1)) {
+            sb.append("     ").append(marker).append(". ").append(this.store.get(slot)).append("\n");
             marker++;
         }
         return sb.toString();
@@ -0,0 +1,84 @@
+package task;
+
+/**
+ * Represents the slots in which a TaskList keeps its tasks.
+ * Slots are appended in list order and emptied when their task is deleted; TaskList keeps track of which slots
+ * are filled and compacts the store once enough of them are empty.
+ */
+public interface TaskStore {
+
+    /**
+     * Creates an empty store of the same kind.
+     *
+     * @param capacity the number of slots to reserve
+     * @return the new store
+     */
+    TaskStore createEmpty(int capacity);
+
+    /**
+     * Gets the number of slots, empty ones included.
+     *
+     * @return the number of slots
+     */
+    int slotCount();
+
+    /**
+     * Appends a slot holding the task.
+     *
+     * @param task the task
+     */
+    void append(Task task);
+
+    /**
+     * Gets the task in a slot. A store that does not keep Task objects creates one for every call, so changes to
+     * the returned task are only kept through the methods of the store.
+     *
+     * @param slot the slot
+     * @return the task, or null if the slot is empty
+     */
+    Task get(int slot);
+
+    /**
+     * Checks whether a slot is empty.
+     *
+     * @param slot the slot
+     * @return true if the task of the slot was deleted
+     */
+    boolean isEmpty(int slot);
+
+    /**
+     * Gets the ID of the task in a filled slot.
+     *
+     * @param slot the slot
+     * @return the ID of the task
+     */
+    long getId(int slot);
+
+    /**
+     * Marks the task in a filled slot as done or undone.
+     *
+     * @param slot the slot
+     * @param isDone whether the task is done
+     */
+    void setDone(int slot, boolean isDone);
+
+    /**
+     * Empties a slot.
+     *
+     * @param slot the slot
+     */
+    void clear(int slot);
+
+    /**
+     * Puts a task into an empty slot, e.g. to put a deleted task back where it was.
+     *
+     * @param slot the empty slot
+     * @param task the task
+     */
+    void restore(int slot, Task task);
+
+    /**
+     * Drops the empty slots, keeping the order of the filled ones.
+     */
+    void compact();
+}
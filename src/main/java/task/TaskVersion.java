@@ -0,0 +1,365 @@
+package task;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents one version of the tasks of a TaskList, in list order, with whether each task was done.
+ * Versions are persistent: a change makes a new version that shares every node it does not touch with the version it
+ * was made from, so a change takes O(log n) time and memory and earlier versions stay intact. The tasks are kept in
+ * an implicit treap, a binary tree ordered by position whose nodes also form a heap of priorities; the priority of a
+ * node is a hash of the ID of its task, which keeps the tree balanced in expectation.
+ * Each version remembers the one change that made it from its parent version, so the change can be persisted or
+ * recorded for undo without comparing versions.
+ */
+public final class TaskVersion {
+
+    private static final long NO_PARENT = -1;
+    private static final AtomicLong serials = new AtomicLong();
+
+    /**
+     * Represents the kinds of change from a parent version.
+     */
+    public enum Change {
+        LOAD, ADD, DELETE, DONE, UNDONE
+    }
+
+    private final Node root;
+    private final long serial;
+    private final long parentSerial;
+    private final Change change;
+    private final int index;
+    private final Task task;
+    private final boolean isTaskDone;
+
+    private TaskVersion(Node root, long parentSerial, Change change, int index, Task task, boolean isTaskDone) {
+        this.root = root;
+        this.serial = serials.incrementAndGet();
+        this.parentSerial = parentSerial;
+        this.change = change;
+        this.index = index;
+        this.task = task;
+        this.isTaskDone = isTaskDone;
+    }
+
+    /**
+     * Creates a version without a parent, in O(n) time.
+     *
+     * @param tasks the tasks in list order, which have IDs
+     * @return the version
+     */
+    public static TaskVersion of(List<Task> tasks) {
+        // build the tree left to right, keeping the nodes on its right spine on a stack
+        Node[] spine = new Node[tasks.size()];
+        int depth = 0;
+        for (Task task : tasks) {
+            Node node = new Node(task, task.isDone, priorityOf(task), null, null);
+            Node below = null;
+            while (depth > 0 && spine[depth - 1].priority < node.priority) {
+                below = spine[--depth];
+            }
+            node.left = below;
+            if (depth > 0) {
+                spine[depth - 1].right = node;
+            }
+            spine[depth++] = node;
+        }
+        Node root = depth == 0 ? null : spine[0];
+        countSizes(root);
+        return new TaskVersion(root, NO_PARENT, Change.LOAD, -1, null, false);
+    }
+
+    /**
+     * Makes the version with a task inserted.
+     *
+     * @param index the index the task gets
+     * @param addedTask the task, which has an ID
+     * @return the new version
+     */
+    public TaskVersion insert(int index, Task addedTask) {
+        checkIndex(index, size() + 1);
+        Node[] parts = split(this.root, index);
+        Node added = new Node(addedTask, addedTask.isDone, priorityOf(addedTask), null, null);
+        Node root = merge(merge(parts[0], added), parts[1]);
+        return new TaskVersion(root, this.serial, Change.ADD, index, addedTask, addedTask.isDone);
+    }
+
+    /**
+     * Makes the version with a task deleted.
+     *
+     * @param index the index of the task
+     * @return the new version
+     */
+    public TaskVersion delete(int index) {
+        checkIndex(index, size());
+        Node deleted = find(index);
+        Node root = deleteAt(this.root, index);
+        return new TaskVersion(root, this.serial, Change.DELETE, index, deleted.task, deleted.isDone);
+    }
+
+    /**
+     * Makes the version with a task marked as done or undone.
+     *
+     * @param index the index of the task
+     * @param isDone whether the task is done
+     * @return the new version
+     */
+    public TaskVersion setDone(int index, boolean isDone) {
+        checkIndex(index, size());
+        Node root = setDoneAt(this.root, index, isDone);
+        return new TaskVersion(root, this.serial, isDone ? Change.DONE : Change.UNDONE, index, find(index).task,
+                isDone);
+    }
+
+    /**
+     * Counts the tasks.
+     *
+     * @return the number of tasks in this version
+     */
+    public int size() {
+        return sizeOf(this.root);
+    }
+
+    /**
+     * Gets a task as it was in this version. A task that was marked differently since is copied.
+     *
+     * @param index the index of the task
+     * @return the task
+     */
+    public Task get(int index) {
+        checkIndex(index, size());
+        Node node = find(index);
+        Task task = node.task;
+        return task.isDone == node.isDone ? task : copyOf(task, node.isDone);
+    }
+
+    /**
+     * Checks whether a task was done in this version.
+     *
+     * @param index the index of the task
+     * @return true if the task was done
+     */
+    public boolean isDone(int index) {
+        checkIndex(index, size());
+        return find(index).isDone;
+    }
+
+    /**
+     * Views the tasks of this version as an unmodifiable list, e.g. to read them while the TaskList changes.
+     *
+     * @return the tasks in list order, as they were in this version
+     */
+    public List<Task> asList() {
+        return new VersionList();
+    }
+
+    /**
+     * Checks whether another version was made from this one by one change.
+     *
+     * @param other the other version
+     * @return true if this version is the parent of the other
+     */
+    public boolean isParentOf(TaskVersion other) {
+        return other.parentSerial == this.serial;
+    }
+
+    /**
+     * Gets the kind of change that made this version from its parent.
+     *
+     * @return the change, or LOAD for a version without a parent
+     */
+    public Change getChange() {
+        return this.change;
+    }
+
+    /**
+     * Gets the index of the changed task: where it was added, or where it was before it was deleted.
+     *
+     * @return the index, or -1 for a version without a parent
+     */
+    public int getIndex() {
+        return this.index;
+    }
+
+    /**
+     * Gets the changed task.
+     *
+     * @return the task, or null for a version without a parent
+     */
+    public Task getTask() {
+        return this.task;
+    }
+
+    /**
+     * Checks whether the changed task was done in this version, or before it was deleted.
+     *
+     * @return true if the task was done
+     */
+    public boolean isTaskDone() {
+        return this.isTaskDone;
+    }
+
+    static void markAs(Task task, boolean isDone) {
+        if (isDone) {
+            task.markAsDone();
+        } else {
+            task.markAsUndone();
+        }
+    }
+
+    private static Task copyOf(Task task, boolean isDone) {
+        Task copy;
+        if (task instanceof Deadline) {
+            copy = new Deadline(task.name, ((Deadline) task).getTiming(), isDone);
+        } else if (task instanceof Event) {
+            copy = new Event(task.name, ((Event) task).getTiming(), isDone);
+        } else if (task instanceof Todo) {
+            copy = new Todo(task.name, isDone);
+        } else {
+            copy = new Task(task.name, isDone);
+        }
+        copy.setId(task.getId());
+        return copy;
+    }
+
+    private Node find(int index) {
+        Node node = this.root;
+        int remaining = index;
+        while (true) {
+            int leftSize = sizeOf(node.left);
+            if (remaining < leftSize) {
+                node = node.left;
+            } else if (remaining == leftSize) {
+                return node;
+            } else {
+                remaining -= leftSize + 1;
+                node = node.right;
+            }
+        }
+    }
+
+    private static void checkIndex(int index, int bound) {
+        if (index < 0 || index >= bound) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + bound);
+        }
+    }
+
+    private static int sizeOf(Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int countSizes(Node node) {
+        if (node == null) {
+            return 0;
+        }
+        node.size = countSizes(node.left) + 1 + countSizes(node.right);
+        return node.size;
+    }
+
+    private static int priorityOf(Task task) {
+        long hash = task.getId() * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32));
+    }
+
+    /**
+     * Copies a node with other children, as a change must not touch the nodes of earlier versions.
+     */
+    private static Node copy(Node node, Node left, Node right) {
+        return new Node(node.task, node.isDone, node.priority, left, right);
+    }
+
+    /**
+     * Splits a tree into its first count nodes and the rest.
+     */
+    private static Node[] split(Node node, int count) {
+        if (node == null) {
+            return new Node[2];
+        }
+        int leftSize = sizeOf(node.left);
+        if (count <= leftSize) {
+            Node[] parts = split(node.left, count);
+            parts[1] = copy(node, parts[1], node.right);
+            return parts;
+        }
+        Node[] parts = split(node.right, count - leftSize - 1);
+        parts[0] = copy(node, node.left, parts[0]);
+        return parts;
+    }
+
+    /**
+     * Joins two trees, where every node of the first comes before every node of the second.
+     */
+    private static Node merge(Node first, Node second) {
+        if (first == null) {
+            return second;
+        }
+        if (second == null) {
+            return first;
+        }
+        if (first.priority > second.priority) {
+            return copy(first, first.left, merge(first.right, second));
+        }
+        return copy(second, merge(first, second.left), second.right);
+    }
+
+    private static Node deleteAt(Node node, int index) {
+        int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            return copy(node, deleteAt(node.left, index), node.right);
+        }
+        if (index > leftSize) {
+            return copy(node, node.left, deleteAt(node.right, index - leftSize - 1));
+        }
+        return merge(node.left, node.right);
+    }
+
+    private static Node setDoneAt(Node node, int index, boolean isDone) {
+        int leftSize = sizeOf(node.left);
+        if (index < leftSize) {
+            return copy(node, setDoneAt(node.left, index, isDone), node.right);
+        }
+        if (index > leftSize) {
+            return copy(node, node.left, setDoneAt(node.right, index - leftSize - 1, isDone));
+        }
+        return new Node(node.task, isDone, node.priority, node.left, node.right);
+    }
+
+    /**
+     * Represents the tasks of the version as a list.
+     */
+    private class VersionList extends AbstractList<Task> {
+
+        @Override
+        public Task get(int index) {
+            return TaskVersion.this.get(index);
+        }
+
+        @Override
+        public int size() {
+            return TaskVersion.this.size();
+        }
+    }
+
+    /**
+     * Represents a task in the tree. A node is not changed once a version holding it is made.
+     */
+    private static class Node {
+
+        private final Task task;
+        private final boolean isDone;
+        private final int priority;
+        private Node left;
+        private Node right;
+        private int size;
+
+        Node(Task task, boolean isDone, int priority, Node left, Node right) {
+            this.task = task;
+            this.isDone = isDone;
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            this.size = sizeOf(left) + 1 + sizeOf(right);
+        }
+    }
+}
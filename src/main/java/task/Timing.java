@@ -0,0 +1,247 @@
+package task;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+
+import parser.TimeFormatter;
+
+/**
+ * Represents when a deadline is due or an event takes place.
+ * A timing is a date, a date and time, or a range of either, kept as int minutes since the epoch and formatted only
+ * when it is shown. Text that is not a date is kept as it was typed instead.
+ */
+public final class Timing {
+
+    private static final String RANGE_WORD = " to ";
+    private static final String RANGE_SEPARATOR = " - ";
+    private static final char TIME_RANGE_SEPARATOR = '-';
+
+    private final int startMinute;
+    private final int endMinute;
+    private final boolean hasTime;
+    private final String text;
+    private String display;
+
+    private Timing(int startMinute, int endMinute, boolean hasTime, String text) {
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+        this.hasTime = hasTime;
+        this.text = text;
+    }
+
+    /**
+     * Parses a timing from what the user typed or from its display form.
+     * Dates are yyyy-MM-dd or d/M/yyyy, dates and times yyyy-MM-dd HHmm or d/M/yyyy HHmm; a range is two of them
+     * joined by " to " or " - ", or a date followed by two times, e.g. 2026-10-18 1400-1600. Anything else is kept as
+     * free text.
+     *
+     * @param text the text of the timing
+     * @return the timing
+     */
+    public static Timing parse(String text) {
+        return parse(text, null);
+    }
+
+    /**
+     * Parses a timing the user typed just now, which may also name a date relative to today, e.g. tomorrow,
+     * next mon 1400 or tomorrow 1400-1600. The date is fixed when the timing is parsed, so it does not move later.
+     * Timings read back from a file are parsed without a day, as the day they were typed on is not known.
+     *
+     * @param text the text of the timing
+     * @param today the day relative dates count from, or null to only accept dates that are not relative
+     * @return the timing
+     */
+    public static Timing parse(String text, LocalDate today) {
+        String trimmed = text.trim();
+        Timing timing = parsePoint(trimmed, today);
+        if (timing == null) {
+            timing = parseRange(trimmed, today);
+        }
+        return timing == null ? ofText(text) : timing;
+    }
+
+    /**
+     * Creates a timing of free text.
+     *
+     * @param text the text
+     * @return the timing
+     */
+    public static Timing ofText(String text) {
+        return new Timing(0, 0, false, text);
+    }
+
+    /**
+     * Creates a timing from its stored form.
+     *
+     * @param startMinute the start in minutes since the epoch
+     * @param endMinute the end in minutes since the epoch, equal to the start unless the timing is a range
+     * @param hasTime whether the timing has times of day, not only dates
+     * @return the timing
+     */
+    public static Timing ofEpochMinutes(int startMinute, int endMinute, boolean hasTime) {
+        return new Timing(startMinute, endMinute, hasTime, null);
+    }
+
+    private static Timing parsePoint(String text, LocalDate today) {
+        LocalDate date = parseDate(text, today);
+        if (date != null) {
+            return between(date.atStartOfDay(), date.atStartOfDay(), false);
+        }
+        LocalDateTime dateTime = parseDateTime(text, today);
+        return dateTime == null ? null : between(dateTime, dateTime, true);
+    }
+
+    private static LocalDate parseDate(String text, LocalDate today) {
+        LocalDate date = TimeFormatter.parseDate(text);
+        return date == null && today != null ? TimeFormatter.parseRelativeDate(text, today) : date;
+    }
+
+    private static LocalDateTime parseDateTime(String text, LocalDate today) {
+        LocalDateTime dateTime = TimeFormatter.parseDateTime(text);
+        return dateTime == null && today != null ? TimeFormatter.parseRelativeDateTime(text, today) : dateTime;
+    }
+
+    private static Timing parseRange(String text, LocalDate today) {
+        int separatorAt = text.indexOf(RANGE_WORD);
+        int separatorLength = RANGE_WORD.length();
+        if (separatorAt < 0) {
+            separatorAt = text.indexOf(RANGE_SEPARATOR);
+            separatorLength = RANGE_SEPARATOR.length();
+        }
+        if (separatorAt >= 0) {
+            String from = text.substring(0, separatorAt).trim();
+            String to = text.substring(separatorAt + separatorLength).trim();
+            LocalDate startDate = parseDate(from, today);
+            LocalDate endDate = parseDate(to, today);
+            if (startDate != null && endDate != null) {
+                return between(startDate.atStartOfDay(), endDate.atStartOfDay(), false);
+            }
+            LocalDateTime start = parseDateTime(from, today);
+            if (start == null) {
+                return null;
+            }
+            LocalDateTime end = parseDateTime(to, today);
+            LocalTime endTime = end == null ? TimeFormatter.parseTime(to) : null;
+            if (endTime != null) {
+                end = start.toLocalDate().atTime(endTime);
+            }
+            return end == null ? null : between(start, end, true);
+        }
+        // a date followed by the times it starts and ends, e.g. 2026-10-18 1400-1600
+        int spaceAt = text.lastIndexOf(' ');
+        int dashAt = text.indexOf(TIME_RANGE_SEPARATOR, spaceAt + 1);
+        if (spaceAt < 0 || dashAt < 0) {
+            return null;
+        }
+        LocalDate date = parseDate(text.substring(0, spaceAt).trim(), today);
+        LocalTime startTime = TimeFormatter.parseTime(text.substring(spaceAt + 1, dashAt));
+        LocalTime endTime = TimeFormatter.parseTime(text.substring(dashAt + 1));
+        if (date == null || startTime == null || endTime == null) {
+            return null;
+        }
+        return between(date.atTime(startTime), date.atTime(endTime), true);
+    }
+
+    /**
+     * Creates a timing between two points, or returns null if the range is backwards or cannot be stored.
+     */
+    private static Timing between(LocalDateTime start, LocalDateTime end, boolean hasTime) {
+        long startMinute = toEpochMinute(start);
+        long endMinute = toEpochMinute(end);
+        if (endMinute < startMinute || startMinute != (int) startMinute || endMinute != (int) endMinute) {
+            return null;
+        }
+        return ofEpochMinutes((int) startMinute, (int) endMinute, hasTime);
+    }
+
+    private static long toEpochMinute(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), 60);
+    }
+
+    private static LocalDateTime ofEpochMinute(int epochMinute) {
+        return LocalDateTime.ofEpochSecond(epochMinute * 60L, 0, ZoneOffset.UTC);
+    }
+
+    /**
+     * Returns whether the timing is a date, or a date and time, rather than free text.
+     *
+     * @return true if the timing is a date
+     */
+    public boolean hasDate() {
+        return this.text == null;
+    }
+
+    /**
+     * Returns whether the timing has times of day, not only dates.
+     *
+     * @return true if the timing has times of day
+     */
+    public boolean hasTime() {
+        return this.hasTime;
+    }
+
+    public int getStartMinute() {
+        return this.startMinute;
+    }
+
+    public int getEndMinute() {
+        return this.endMinute;
+    }
+
+    /**
+     * Returns when the timing starts; a date starts at midnight.
+     *
+     * @return the start, or null if the timing is free text
+     */
+    public LocalDateTime getStart() {
+        return hasDate() ? ofEpochMinute(this.startMinute) : null;
+    }
+
+    /**
+     * Returns when the timing ends; a date ends at its midnight, as it starts.
+     *
+     * @return the end, or null if the timing is free text
+     */
+    public LocalDateTime getEnd() {
+        return hasDate() ? ofEpochMinute(this.endMinute) : null;
+    }
+
+    /**
+     * Returns the free text of the timing.
+     *
+     * @return the text, or null if the timing is a date
+     */
+    public String getText() {
+        return this.text;
+    }
+
+    @Override
+    public String toString() {
+        if (this.display == null) {
+            this.display = format();
+        }
+        return this.display;
+    }
+
+    private String format() {
+        if (!hasDate()) {
+            return this.text;
+        }
+        LocalDateTime start = getStart();
+        LocalDateTime end = getEnd();
+        if (!this.hasTime) {
+            String from = TimeFormatter.formatDate(start.toLocalDate());
+            return start.equals(end) ? from : from + RANGE_SEPARATOR + TimeFormatter.formatDate(end.toLocalDate());
+        }
+        String from = TimeFormatter.formatDateTime(start);
+        if (start.equals(end)) {
+            return from;
+        }
+        if (start.toLocalDate().equals(end.toLocalDate())) {
+            return from + TIME_RANGE_SEPARATOR + TimeFormatter.formatTime(end.toLocalTime());
+        }
+        return from + RANGE_SEPARATOR + TimeFormatter.formatDateTime(end);
+    }
+}
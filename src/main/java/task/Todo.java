@@ -26,8 +26,8 @@ public class Todo extends Task {
     }
 
     @Override
-    public String toString() {
-        return "[T]" + super.toString();
+    protected String renderDisplay() {
+        return "[T]" + super.renderDisplay();
     }
 
     /**
@@ -35,7 +35,8 @@ public class Todo extends Task {
      *
      * @return Returns a summary of the Todo task in the file format
      */
-    public String toStringFileFormat() {
-        return "T" + super.toStringFileFormat();
+    @Override
+    protected String renderFileFormat() {
+        return "T" + super.renderFileFormat();
     }
 }
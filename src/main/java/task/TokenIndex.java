@@ -0,0 +1,200 @@
+package task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Represents an inverted index from the words of tasks to the IDs of the tasks.
+ * A word is a maximal run of letters and digits in the name or the date of a task, case-folded. Each posting list
+ * keeps the IDs in ascending order, so AND queries intersect and OR queries merge sorted arrays, and the words are
+ * kept sorted so that a prefix query only visits the words that start with the prefix.
+ */
+class TokenIndex {
+
+    /** The word that separates the alternatives of a query. */
+    static final String OR = "or";
+    /** The suffix that makes a term of a query match every word starting with it. */
+    static final char PREFIX_MARK = '*';
+
+    private static final long[] NO_IDS = new long[0];
+
+    private TreeMap<String, IdPostings> postingsOfWord;
+
+    TokenIndex() {
+        this.postingsOfWord = new TreeMap<>();
+    }
+
+    /**
+     * Adds a task under each of its words.
+     *
+     * @param task the task, which has an ID
+     */
+    void add(Task task) {
+        for (String word : wordsOf(task)) {
+            this.postingsOfWord.computeIfAbsent(word, key -> new IdPostings()).add(task.getId());
+        }
+    }
+
+    /**
+     * Removes a task from each of its words.
+     *
+     * @param task the task, as it was added
+     */
+    void remove(Task task) {
+        for (String word : wordsOf(task)) {
+            IdPostings postings = this.postingsOfWord.get(word);
+            if (postings != null && postings.remove(task.getId()) && postings.size == 0) {
+                this.postingsOfWord.remove(word);
+            }
+        }
+    }
+
+    /**
+     * Finds the tasks matching a query.
+     * Terms separated by spaces must all match; "or" separates alternatives. A term ending with * matches every
+     * word that starts with it, any other term matches the word itself.
+     *
+     * @param query the query, e.g. "book* or project meeting"
+     * @return the IDs of the matching tasks in ascending order
+     */
+    long[] search(String query) {
+        long[] matches = NO_IDS;
+        ArrayList<String> terms = new ArrayList<>();
+        for (String term : query.trim().toLowerCase(Locale.ROOT).split("\\s+")) {
+            if (term.equals(OR)) {
+                matches = union(matches, searchAll(terms));
+                terms.clear();
+            } else if (!term.isEmpty()) {
+                terms.add(term);
+            }
+        }
+        return union(matches, searchAll(terms));
+    }
+
+    /**
+     * Finds the tasks matching every term; a query without terms matches nothing.
+     */
+    private long[] searchAll(ArrayList<String> terms) {
+        if (terms.isEmpty()) {
+            return NO_IDS;
+        }
+        long[][] termMatches = new long[terms.size()][];
+        for (int i = 0; i < terms.size(); i++) {
+            termMatches[i] = searchTerm(terms.get(i));
+        }
+        // intersect starting from the shortest list; each step searches its IDs in the longer list
+        Arrays.sort(termMatches, (first, second) -> Integer.compare(first.length, second.length));
+        long[] matches = termMatches[0];
+        for (int i = 1; i < termMatches.length && matches.length > 0; i++) {
+            matches = intersect(matches, termMatches[i]);
+        }
+        return matches;
+    }
+
+    private long[] searchTerm(String term) {
+        if (term.length() > 1 && term.charAt(term.length() - 1) == PREFIX_MARK) {
+            String prefix = term.substring(0, term.length() - 1);
+            int total = 0;
+            for (IdPostings postings : prefixRange(prefix).values()) {
+                total += postings.size;
+            }
+            long[] matches = new long[total];
+            int count = 0;
+            for (IdPostings postings : prefixRange(prefix).values()) {
+                System.arraycopy(postings.ids, 0, matches, count, postings.size);
+                count += postings.size;
+            }
+            // a task with several words of the prefix is in several lists
+            Arrays.sort(matches);
+            int distinct = 0;
+            for (int i = 0; i < matches.length; i++) {
+                if (i == 0 || matches[i] != matches[i - 1]) {
+                    matches[distinct++] = matches[i];
+                }
+            }
+            return Arrays.copyOf(matches, distinct);
+        }
+        IdPostings postings = this.postingsOfWord.get(term);
+        return postings == null ? NO_IDS : postings.toArray();
+    }
+
+    private Map<String, IdPostings> prefixRange(String prefix) {
+        return this.postingsOfWord.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+    }
+
+    /**
+     * Splits the name and the date of a task into distinct case-folded words.
+     *
+     * @param task the task
+     * @return the words of the task
+     */
+    static HashSet<String> wordsOf(Task task) {
+        HashSet<String> words = new HashSet<>();
+        addWords(task.name, words);
+        if (task instanceof Deadline) {
+            addWords(((Deadline) task).getBy(), words);
+        } else if (task instanceof Event) {
+            addWords(((Event) task).getDuration(), words);
+        }
+        return words;
+    }
+
+    private static void addWords(String text, HashSet<String> words) {
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean isWordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (isWordChar && start < 0) {
+                start = i;
+            } else if (!isWordChar && start >= 0) {
+                words.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+
+    private static long[] intersect(long[] first, long[] second) {
+        long[] matches = new long[first.length];
+        int count = 0;
+        int from = 0;
+        for (int i = 0; i < first.length && from < second.length; i++) {
+            int position = Arrays.binarySearch(second, from, second.length, first[i]);
+            if (position >= 0) {
+                matches[count++] = first[i];
+                from = position + 1;
+            } else {
+                from = -position - 1;
+            }
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    private static long[] union(long[] first, long[] second) {
+        if (first.length == 0) {
+            return second;
+        }
+        if (second.length == 0) {
+            return first;
+        }
+        long[] matches = new long[first.length + second.length];
+        int count = 0;
+        int i = 0;
+        int j = 0;
+        while (i < first.length || j < second.length) {
+            long next;
+            if (j == second.length || (i < first.length && first[i] < second[j])) {
+                next = first[i++];
+            } else if (i == first.length || second[j] < first[i]) {
+                next = second[j++];
+            } else {
+                next = first[i++];
+                j++;
+            }
+            matches[count++] = next;
+        }
+        return Arrays.copyOf(matches, count);
+    }
+}
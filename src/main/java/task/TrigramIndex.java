@@ -0,0 +1,128 @@
+package task;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+
+/**
+ * Represents an index from the trigrams of the lowercased rendering of tasks to the slots of the tasks.
+ * A task is indexed with both its done and its undone mark, so marking a task as done does not change the index.
+ * Every substring of a rendering consists of trigrams of the rendering, so the slots that contain all trigrams of
+ * a query are a superset of the tasks that contain the query.
+ * Each posting list is sorted in list order. Deleted slots stay in the lists until the slots are compacted and the
+ * index is built again; callers skip empty slots, and a slot that is filled again stays a candidate for the trigrams
+ * of the task it held before.
+ */
+class TrigramIndex {
+
+    /** The length of the shortest query the index can narrow. */
+    static final int GRAM_LENGTH = 3;
+
+    private static final String DONE_MARK = "[V]";
+    private static final String UNDONE_MARK = "[X]";
+
+    private HashMap<Long, Postings> slotsOfTrigram;
+
+    TrigramIndex() {
+        this.slotsOfTrigram = new HashMap<>();
+    }
+
+    /**
+     * Adds a task in a slot. The slot is usually after every slot added so far; a slot that is filled again, e.g. when
+     * a deleted task is put back, is inserted in order.
+     *
+     * @param slot the slot
+     * @param task the task in the slot
+     */
+    void add(int slot, Task task) {
+        String rendered = task.toString();
+        String mark = task.isDone ? DONE_MARK : UNDONE_MARK;
+        int markAt = rendered.indexOf(mark);
+        HashSet<Long> trigrams = new HashSet<>();
+        addTrigrams(rendered.toLowerCase(), trigrams);
+        if (markAt >= 0) {
+            String otherMark = task.isDone ? UNDONE_MARK : DONE_MARK;
+            addTrigrams((rendered.substring(0, markAt) + otherMark + rendered.substring(markAt + mark.length()))
+                    .toLowerCase(), trigrams);
+        }
+        for (Long trigram : trigrams) {
+            this.slotsOfTrigram.computeIfAbsent(trigram, key -> new Postings()).add(slot);
+        }
+    }
+
+    /**
+     * Finds the slots that may hold a task containing a query.
+     *
+     * @param lowerCaseQuery the lowercased query, at least GRAM_LENGTH characters long
+     * @return the candidate slots in list order
+     */
+    int[] findCandidates(String lowerCaseQuery) {
+        assert lowerCaseQuery.length() >= GRAM_LENGTH : "query too short for trigrams";
+        HashSet<Long> trigrams = new HashSet<>();
+        addTrigrams(lowerCaseQuery, trigrams);
+        Postings[] lists = new Postings[trigrams.size()];
+        int count = 0;
+        for (Long trigram : trigrams) {
+            Postings postings = this.slotsOfTrigram.get(trigram);
+            if (postings == null) {
+                return new int[0];
+            }
+            lists[count++] = postings;
+        }
+        // intersect starting from the shortest list; each step searches its slots in the longer list
+        Arrays.sort(lists, (first, second) -> Integer.compare(first.size, second.size));
+        int[] candidates = Arrays.copyOf(lists[0].slots, lists[0].size);
+        int candidateCount = candidates.length;
+        for (int i = 1; i < lists.length && candidateCount > 0; i++) {
+            candidateCount = retain(candidates, candidateCount, lists[i]);
+        }
+        return Arrays.copyOf(candidates, candidateCount);
+    }
+
+    private static int retain(int[] candidates, int candidateCount, Postings postings) {
+        int kept = 0;
+        int from = 0;
+        for (int i = 0; i < candidateCount && from < postings.size; i++) {
+            int position = Arrays.binarySearch(postings.slots, from, postings.size, candidates[i]);
+            if (position >= 0) {
+                candidates[kept++] = candidates[i];
+                from = position + 1;
+            } else {
+                from = -position - 1;
+            }
+        }
+        return kept;
+    }
+
+    private static void addTrigrams(String text, HashSet<Long> trigrams) {
+        for (int i = 0; i + GRAM_LENGTH <= text.length(); i++) {
+            trigrams.add((long) text.charAt(i) << 32 | (long) text.charAt(i + 1) << 16 | text.charAt(i + 2));
+        }
+    }
+
+    /**
+     * Represents the slots of the tasks containing one trigram, in ascending order.
+     */
+    private static class Postings {
+
+        private int[] slots = new int[4];
+        private int size;
+
+        void add(int slot) {
+            int position = this.size;
+            if (position > 0 && this.slots[position - 1] >= slot) {
+                position = Arrays.binarySearch(this.slots, 0, this.size, slot);
+                if (position >= 0) {
+                    return;
+                }
+                position = -position - 1;
+            }
+            if (this.size == this.slots.length) {
+                this.slots = Arrays.copyOf(this.slots, this.size + (this.size >> 1));
+            }
+            System.arraycopy(this.slots, position, this.slots, position + 1, this.size - position);
+            this.slots[position] = slot;
+            this.size++;
+        }
+    }
+}
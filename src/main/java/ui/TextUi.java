@@ -2,19 +2,31 @@ package ui;
 
 import exception.DukeException;
 
+import common.LoadReport;
 import common.Message;
 import common.Storage;
 import task.Task;
 import task.TaskList;
+import task.TaskVersion;
 import task.Todo;
 
 import java.io.PrintStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
 import java.util.Scanner;
 
 public class TextUi {
 
+    /** The number of tasks a page of the list shows. */
+    public static final int LIST_PAGE_SIZE = 50;
+
+    private static final int MAX_SHOWN_FAILURES = 20;
+
     private Scanner sc;
     private PrintStream out;
+    private int listCursor;
 
     /**
      * Constructs new TextUi object to handle user-system interactions.
@@ -79,11 +91,55 @@ public class TextUi {
      * @param tasks the current task list
      */
     public String showAddingTask_Str(Task givenTask, TaskList tasks) {
+        return showAddingTask_Str(givenTask, tasks, Collections.emptyList());
+    }
+
+    /**
+     * Returns messages after adding a task to the task list, with the events that the task overlaps.
+     *
+     * @param givenTask the newly added task object
+     * @param tasks the current task list
+     * @param overlapping the undone events that overlap the task
+     * @return a string representing the added task
+     */
+    public String showAddingTask_Str(Task givenTask, TaskList tasks, List<Task> overlapping) {
         StringBuilder sb = new StringBuilder();
         sb.append(Message.MESSAGE_LINE + "\n");
         sb.append(Message.MESSAGE_GOTIT + "\n");
         sb.append("     " + givenTask.toString() + "\n");
-        sb.append("     Now you have " + tasks.getList().size() + " tasks in the list." + "\n");
+        sb.append("     Now you have " + tasks.size() + " tasks in the list." + "\n");
+        if (!overlapping.isEmpty()) {
+            sb.append(Message.MESSAGE_OVERLAPS + "\n");
+        }
+        int marker = 1;
+        for (Task thisTask : overlapping) {
+            sb.append("     ").append(marker).append(". ").append(thisTask).append("\n");
+            marker++;
+        }
+        sb.append(Message.MESSAGE_LINE);
+        return sb.toString();
+    }
+
+    /**
+     * Shows every pair of undone events that overlap.
+     *
+     * @param conflicts the pairs of events
+     * @return a string of the pairs
+     */
+    public String showConflicts(List<Task[]> conflicts) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(Message.MESSAGE_LINE + "\n");
+        if (conflicts.isEmpty()) {
+            sb.append(Message.MESSAGE_NOCONFLICTS + "\n");
+        } else {
+            sb.append(Message.MESSAGE_CONFLICTS + "\n");
+        }
+        int marker = 1;
+        for (Task[] pair : conflicts) {
+            sb.append("     ").append(marker).append(". ").append(pair[0]).append("\n");
+            sb.append("        and ").append(pair[1]).append("\n");
+            marker++;
+        }
         sb.append(Message.MESSAGE_LINE);
         return sb.toString();
     }
@@ -100,7 +156,7 @@ public class TextUi {
         sb.append(Message.MESSAGE_LINE + "\n");
         sb.append(Message.MESSAGE_REMOVE + "\n");
         sb.append("     " + givenTask.toString() + "\n");
-        sb.append("     Now you have " + tasks.getList().size() + " tasks in the list." + "\n");
+        sb.append("     Now you have " + tasks.size() + " tasks in the list." + "\n");
         sb.append(Message.MESSAGE_LINE);
         return sb.toString();
     }
@@ -108,15 +164,15 @@ public class TextUi {
     /**
      * Returns the deleted task message to the user.
      *
-     * @param index the index of the deleted task in the task list
-     * @param tasks the task list
+     * @param deletedTask the deleted task
+     * @param tasks the task list after the task was deleted
      */
-    public String showDeletingTask_Str(int index, TaskList tasks) {
+    public String showDeletingTask_Str(Task deletedTask, TaskList tasks) {
         StringBuilder sb = new StringBuilder();
         sb.append(Message.MESSAGE_LINE + "\n");
         sb.append(Message.MESSAGE_DELETEIT + "\n");
-        sb.append("     " + tasks.getList().get(index).toString() + "\n");
-        sb.append("     Now you have " + (tasks.getList().size() - 1) + " tasks in the list." + "\n");
+        sb.append("     " + deletedTask.toString() + "\n");
+        sb.append("     Now you have " + tasks.size() + " tasks in the list." + "\n");
         sb.append(Message.MESSAGE_LINE);
         return sb.toString();
     }
@@ -124,13 +180,14 @@ public class TextUi {
     /**
      * Returns the done task message to the user.
      *
+     * @param doneTask the task marked as done
      * @param tasks the task list
      */
-    public String showDoneTask_Str(int index, TaskList tasks) {
+    public String showDoneTask_Str(Task doneTask, TaskList tasks) {
         StringBuilder sb = new StringBuilder();
         sb.append(Message.MESSAGE_LINE + "\n");
         sb.append(Message.MESSAGE_MARKASDONE + "\n");
-        sb.append("     " + tasks.getList().get(index).toString() + "\n");
+        sb.append("     " + doneTask.toString() + "\n");
         sb.append(Message.MESSAGE_LINE);
         return sb.toString();
     }
@@ -151,6 +208,54 @@ public class TextUi {
         return sb.toString();
     }
 
+    /**
+     * Returns the message for a change that was undone or redone.
+     *
+     * @param change the change the list went through, e.g. DELETE when adding a task was undone
+     * @param changedTask the changed task
+     * @param tasks the task list after the change
+     * @return a string representing the change
+     */
+    public String showChange_Str(TaskVersion.Change change, Task changedTask, TaskList tasks) {
+        switch (change) {
+        case ADD:
+            return showAddingTask_Str(changedTask, tasks);
+        case DELETE:
+            return showRemovingTask(changedTask, tasks);
+        case DONE:
+            return showDoneTask_Str(changedTask, tasks);
+        default:
+            return showUndoneTask(changedTask, tasks);
+        }
+    }
+
+    /**
+     * Returns a message between two lines, e.g. that a transaction was committed.
+     *
+     * @param message the message
+     * @return a string representing the message
+     */
+    public String showMessage_Str(String message) {
+        return Message.MESSAGE_LINE + "\n" + message + "\n" + Message.MESSAGE_LINE;
+    }
+
+    /**
+     * Returns how many changes can be undone and redone, and the memory they take.
+     *
+     * @param undoCount the number of changes that can be undone
+     * @param redoCount the number of changes that can be redone
+     * @param retainedBytes the estimated bytes the changes take
+     * @return a string representing the undo history
+     */
+    public String showHistory_Str(int undoCount, int redoCount, long retainedBytes) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(Message.MESSAGE_LINE + "\n");
+        sb.append("     You can undo " + undoCount + " and redo " + redoCount + " changes." + "\n");
+        sb.append("     The history takes about " + retainedBytes + " bytes of memory." + "\n");
+        sb.append(Message.MESSAGE_LINE);
+        return sb.toString();
+    }
+
     /**
      * Shows the error message to the user.
      *
@@ -163,6 +268,75 @@ public class TextUi {
 
     }
 
+    /**
+     * Returns what could not be loaded from the task file: why the file could not be read, or its lines that are not
+     * tasks with their line numbers, and where the file as it was is kept.
+     *
+     * @param report the report of loading the task file
+     * @return a string of the report
+     */
+    public String showLoadReport_Str(LoadReport report) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(Message.MESSAGE_LINE + "\n");
+        if (report.getFailure() != null) {
+            sb.append(Message.MESSAGE_UNREADABLEFILE).append(report.getFailure()).append("\n");
+        }
+        if (!report.getLineNumbers().isEmpty()) {
+            sb.append(Message.MESSAGE_MALFORMEDLINES + "\n");
+        }
+        for (int i = 0; i < report.getLineNumbers().size(); i++) {
+            sb.append("     line ").append(report.getLineNumbers().get(i)).append(": ")
+                    .append(report.getLines().get(i)).append("\n");
+        }
+        if (report.getBackupPath() != null) {
+            sb.append(Message.MESSAGE_BACKUP).append(report.getBackupPath()).append(".\n");
+        } else {
+            sb.append(Message.MESSAGE_NOBACKUP + "\n");
+        }
+        sb.append(Message.MESSAGE_LINE);
+        return sb.toString();
+    }
+
+    /**
+     * Returns how a script ran: how many commands ran and how fast, and the lines that failed.
+     * Only the first MAX_SHOWN_FAILURES failed lines are listed.
+     *
+     * @param filePath the path of the script file
+     * @param commandCount the number of commands that ran
+     * @param nanos the time the commands took, in nanoseconds
+     * @param lineNumbers the numbers of the lines that failed, counting from 1
+     * @param lines the text of the lines that failed
+     * @return a string of the report
+     */
+    public String showScriptReport_Str(String filePath, int commandCount, long nanos, List<Integer> lineNumbers,
+            List<String> lines) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(Message.MESSAGE_LINE + "\n");
+        sb.append(String.format("     Ran %d commands from %s in %d ms (%.0f commands/s).", commandCount, filePath,
+                nanos / 1_000_000, commandCount * 1e9 / Math.max(nanos, 1))).append("\n");
+        if (!lineNumbers.isEmpty()) {
+            sb.append(Message.MESSAGE_SCRIPTFAILURES + "\n");
+            for (int i = 0; i < Math.min(lineNumbers.size(), MAX_SHOWN_FAILURES); i++) {
+                sb.append("     line ").append(lineNumbers.get(i)).append(": ").append(lines.get(i)).append("\n");
+            }
+            if (lineNumbers.size() > MAX_SHOWN_FAILURES) {
+                sb.append("     and " + (lineNumbers.size() - MAX_SHOWN_FAILURES) + " more lines." + "\n");
+            }
+        }
+        sb.append(Message.MESSAGE_LINE);
+        return sb.toString();
+    }
+
+    /**
+     * Checks whether a response of a command is an error message.
+     *
+     * @param response the response of the command
+     * @return true if the response is an error message
+     */
+    public boolean isError_Str(String response) {
+        return response.startsWith(Message.MESSAGE_LINE + "\n" + Message.MESSAGE_OOPS);
+    }
+
     /**
      * Returns the error message to the user.
      *
@@ -187,32 +361,68 @@ public class TextUi {
 
     /**
      * Returns the string of task list to to the user.
+     * Only the first page of a long list is shown; "list next" continues from there.
      *
      * @param tasks the task list
      * @param dukeStorage the storage
      */
     public String displayList_Str(TaskList tasks, Storage dukeStorage) {
+        return displayList_Str(tasks, dukeStorage, 0, LIST_PAGE_SIZE);
+    }
+
+    /**
+     * Returns the string of a range of the task list.
+     *
+     * @param tasks the task list
+     * @param dukeStorage the storage
+     * @param from the index of the first task to show, inclusive
+     * @param to the index after the last task to show, exclusive
+     */
+    public String displayList_Str(TaskList tasks, Storage dukeStorage, int from, int to) {
         StringBuilder sb = new StringBuilder();
         sb.append(Message.MESSAGE_LINE + "\n");
         sb.append(Message.MESSAGE_SHOWLIST + "\n");
         try {
-            tasks.renewList(dukeStorage.readFromFile());
+            dukeStorage.refresh(tasks);
         } catch (Exception exp) {
             sb.append("     Something went wrong with the file." + "\n" + "     Better say 'bye' now.");
             sb.append(Message.MESSAGE_LINE);
             return sb.toString();
         }
-        if (tasks.getList().isEmpty()) {
+        int size = tasks.size();
+        if (size == 0) {
             sb.append(Message.MESSAGE_EMPTYLIST + "\n");
             sb.append(Message.MESSAGE_LINE);
             return sb.toString();
-        } else {
-            sb.append(tasks.toListString());
+        } else if (from >= size) {
+            sb.append("     There are only " + size + " tasks in the list." + "\n");
             sb.append(Message.MESSAGE_LINE);
+            return sb.toString();
+        }
+        int end = Math.min(to, size);
+        sb.append(tasks.toListString(from, end));
+        this.listCursor = end;
+        if (from > 0 || end < size) {
+            sb.append("     Showing tasks " + (from + 1) + "-" + end + " of " + size + ".");
+            sb.append(end < size ? " Type 'list next' for more." : "");
+            sb.append("\n");
         }
+        sb.append(Message.MESSAGE_LINE);
         return sb.toString();
     }
 
+    /**
+     * Returns the string of the page of the task list after the one shown last.
+     * After the last page, the list starts again from the first page.
+     *
+     * @param tasks the task list
+     * @param dukeStorage the storage
+     */
+    public String displayNextPage_Str(TaskList tasks, Storage dukeStorage) {
+        int from = this.listCursor < tasks.size() ? this.listCursor : 0;
+        return displayList_Str(tasks, dukeStorage, from, from + LIST_PAGE_SIZE);
+    }
+
     /**
      * Returns the string of tasks in the task list which contain the keyword.
      *
@@ -225,9 +435,10 @@ public class TextUi {
         sb.append(Message.MESSAGE_FIND + "\n");
         int marker = 1;
         String thisItem;
-        for (int i = 0; i < tasks.getList().size(); i++) {
-            thisItem = tasks.getList().get(i).toString();
-            if (thisItem.toLowerCase().contains(item.toLowerCase())) {
+        String lowerCaseItem = item.toLowerCase();
+        for (Task candidate : tasks.findCandidates(lowerCaseItem)) {
+            thisItem = candidate.toString();
+            if (thisItem.toLowerCase().contains(lowerCaseItem)) {
                 sb.append("     ").append(marker).append(". ").append(thisItem).append("\n");
                 marker++;
             }
@@ -239,6 +450,28 @@ public class TextUi {
         return sb.toString();
     }
 
+    /**
+     * Returns the string of tasks in the task list whose words match a search query.
+     *
+     * @param tasks the task list
+     * @param query the words, prefixes ending with * and "or" between alternatives
+     */
+    public String searchList_Str(TaskList tasks, String query) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(Message.MESSAGE_LINE + "\n");
+        sb.append(Message.MESSAGE_FIND + "\n");
+        int marker = 1;
+        for (Task thisTask : tasks.search(query)) {
+            sb.append("     ").append(marker).append(". ").append(thisTask).append("\n");
+            marker++;
+        }
+        if (marker == 1) {
+            sb.append(Message.MESSAGE_NULL + "\n");
+        }
+        sb.append(Message.MESSAGE_LINE);
+        return sb.toString();
+    }
+
     /**
      * Shows a list of specified-type tasks that are undone.
      *
@@ -254,16 +487,9 @@ public class TextUi {
             sb.append(tasks.toUndoneListString());
             sb.append("     Try to finish them soon ~" + "\n");
         } else {
-            int marker = 1;
-            Task thisTask;
-            for (int i = 0; i < tasks.getList().size(); i++) {
-                thisTask = tasks.getList().get(i);
-                if (thisTask.toString().charAt(1) == taskType && !thisTask.isDone) {
-                    sb.append("     ").append(marker).append(". ").append(thisTask).append("\n");
-                    marker++;
-                }
-            }
-            if (marker == 1) {
+            String undoneList = tasks.toUndoneListString(taskType);
+            sb.append(undoneList);
+            if (undoneList.isEmpty()) {
                 sb.append("     For this type, " + Message.MESSAGE_NOTHING + "\n");
             } else {
                 sb.append("     Try to finish them soon ~" + "\n");
@@ -273,4 +499,41 @@ public class TextUi {
         return sb.toString();
     }
 
+    /**
+     * Shows the undone deadlines due on the days of a range, in the order they are due.
+     *
+     * @param tasks the list of tasks
+     * @param from the first day of the range, or null for no first day
+     * @param to the last day of the range, or null for no last day
+     * @return a string of the deadlines
+     */
+    public String dueTasks(TaskList tasks, LocalDate from, LocalDate to) {
+        return showDeadlines(tasks.toDueListString(from, to), "     For these dates, " + Message.MESSAGE_NOTHING);
+    }
+
+    /**
+     * Shows the undone deadlines that are past due, in the order they were due.
+     *
+     * @param tasks the list of tasks
+     * @param now the current date and time
+     * @return a string of the deadlines
+     */
+    public String overdueTasks(TaskList tasks, LocalDateTime now) {
+        return showDeadlines(tasks.toOverdueListString(now), "     For now, nothing is overdue.");
+    }
+
+    private String showDeadlines(String deadlineList, String emptyMessage) {
+        StringBuilder sb = new StringBuilder();
+        sb.append(Message.MESSAGE_LINE + "\n");
+        sb.append(Message.MESSAGE_SHOWRELATED + "\n");
+        sb.append(deadlineList);
+        if (deadlineList.isEmpty()) {
+            sb.append(emptyMessage + "\n");
+        } else {
+            sb.append("     Try to finish them soon ~" + "\n");
+        }
+        sb.append(Message.MESSAGE_LINE);
+        return sb.toString();
+    }
+
 }
@@ -0,0 +1,77 @@
+package command;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+
+import common.Durability;
+import common.Storage;
+import parser.Parser;
+import task.Deadline;
+import task.Event;
+import task.Task;
+import task.TaskList;
+import task.Todo;
+import ui.TextUi;
+
+/**
+ * Reports the bytes each read-only command allocates on a list of ten thousand tasks: the first time, when every
+ * task is rendered for the first time, and on average over later runs.
+ * It reads the allocation counter of the thread, which HotSpot provides. Run it with the main method; it is not
+ * part of the unit tests.
+ */
+public class CommandAllocationReport {
+
+    private static final int SIZE = 10_000;
+    private static final int ROUNDS = 20;
+    private static final String[] COMMANDS = {"list", "find book", "find 4242", "reminders", "reminders deadline",
+        "search read*", "due before 2027-01-01"};
+    private static final String[] NAMES = {"read book", "return book", "project meeting", "join sports club"};
+
+    /**
+     * Main class of the report.
+     *
+     * @param args command line input
+     * @throws Exception thrown in terms of storage error
+     */
+    public static void main(String[] args) throws Exception {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        Path directory = Files.createTempDirectory("duke-alloc");
+        Storage storage = new Storage(directory.resolve("tasks.txt").toString(), true,
+                Storage.DEFAULT_COMPACTION_THRESHOLD, Durability.SYNC);
+        ArrayList<Task> initial = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            initial.add(createTask(i));
+        }
+        storage.writeToFile(initial);
+        TaskList tasks = new TaskList(storage.readFromFile());
+        TextUi textUi = new TextUi();
+        for (String command : COMMANDS) {
+            long before = threads.getThreadAllocatedBytes(thread);
+            Parser.parse(command).execute(tasks, textUi, storage);
+            long first = threads.getThreadAllocatedBytes(thread) - before;
+            before = threads.getThreadAllocatedBytes(thread);
+            for (int round = 0; round < ROUNDS; round++) {
+                Parser.parse(command).execute(tasks, textUi, storage);
+            }
+            long later = (threads.getThreadAllocatedBytes(thread) - before) / ROUNDS;
+            System.out.printf("%-24s first %,12d B  later %,12d B%n", command, first, later);
+        }
+        storage.close();
+    }
+
+    private static Task createTask(int i) {
+        String name = NAMES[i % NAMES.length] + " " + i;
+        switch (i % 3) {
+        case 0:
+            return new Todo(name, i % 2 == 0);
+        case 1:
+            return new Deadline(name, "2026-" + (10 + i % 3) + "-1" + i % 10, i % 2 == 0);
+        default:
+            return new Event(name, "Aug 6th 2-4pm", i % 2 == 0);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package command;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import common.Durability;
+import common.Storage;
+import parser.Parser;
+import task.Task;
+import task.TaskList;
+import ui.TextUi;
+
+/**
+ * Compares running a script of ten thousand commands one by one, which writes the whole list after every change,
+ * with running it as a RunCommand, which writes the list once. Both must leave the same tasks in the file, and the
+ * RunCommand must report the lines that failed.
+ * Run it with the main method; it is not part of the unit tests.
+ */
+public class RunCommandBenchmark {
+
+    private static final int COMMANDS = 10_000;
+    private static final String[] NAMES = {"read book", "return book", "project meeting", "join sports club"};
+
+    /**
+     * Main class of the benchmark.
+     *
+     * @param args command line input
+     * @throws Exception thrown in terms of storage error
+     */
+    public static void main(String[] args) throws Exception {
+        Path script = Files.createTempFile("duke-script", ".txt");
+        final List<Integer> expectedFailures = writeScript(script);
+        TextUi textUi = new TextUi();
+
+        Path oneByOnePath = Files.createTempFile("duke-one-by-one", ".txt");
+        Storage oneByOneStorage = new Storage(oneByOnePath.toString(), false, Storage.DEFAULT_COMPACTION_THRESHOLD,
+                Durability.ASYNC);
+        TaskList oneByOneTasks = new TaskList(new ArrayList<>());
+        long start = System.nanoTime();
+        for (String line : Files.readAllLines(script, StandardCharsets.UTF_8)) {
+            if (!line.isEmpty() && !line.startsWith("#")) {
+                Parser.parse(line).execute(oneByOneTasks, textUi, oneByOneStorage);
+            }
+        }
+        oneByOneStorage.close();
+        final long oneByOneNanos = System.nanoTime() - start;
+
+        Path batchedPath = Files.createTempFile("duke-batched", ".txt");
+        Storage batchedStorage = new Storage(batchedPath.toString(), false, Storage.DEFAULT_COMPACTION_THRESHOLD,
+                Durability.ASYNC);
+        TaskList batchedTasks = new TaskList(new ArrayList<>());
+        start = System.nanoTime();
+        String report = new RunCommand(script.toString()).execute(batchedTasks, textUi, batchedStorage);
+        batchedStorage.close();
+        final long batchedNanos = System.nanoTime() - start;
+
+        String expected = describe(read(oneByOnePath));
+        String actual = describe(read(batchedPath));
+        if (!expected.equals(actual) || batchedTasks.size() != oneByOneTasks.size()) {
+            throw new Error("the script left other tasks in the file");
+        }
+        for (int lineNumber : expectedFailures) {
+            if (!report.contains("line " + lineNumber + ": ")) {
+                throw new Error("line " + lineNumber + " is not reported: " + report);
+            }
+        }
+        System.out.println(report);
+        System.out.printf("one by one %8.1f ms  run %8.1f ms%n", oneByOneNanos / 1e6, batchedNanos / 1e6);
+        Files.delete(script);
+        Files.delete(oneByOnePath);
+        Files.delete(batchedPath);
+    }
+
+    /**
+     * Writes a script of adding, marking and deleting commands with a few lines that fail.
+     *
+     * @return the numbers of the lines that fail
+     */
+    private static List<Integer> writeScript(Path script) throws IOException {
+        List<String> lines = new ArrayList<>();
+        List<Integer> failures = new ArrayList<>();
+        lines.add("# seeds the list");
+        int added = 0;
+        for (int i = 0; i < COMMANDS; i++) {
+            String name = NAMES[i % NAMES.length] + " " + i;
+            if (i == 100 || i == 5000) {
+                lines.add("delete 0");
+                failures.add(lines.size());
+            } else if (i == 200) {
+                lines.add("deadline " + name);
+                failures.add(lines.size());
+            } else if (i == 300) {
+                lines.add("");
+            } else if (i % 10 == 9 && added > 0) {
+                lines.add("done " + (1 + i % added));
+            } else if (i % 20 == 11 && added > 1) {
+                lines.add("delete " + added--);
+            } else {
+                lines.add(i % 3 == 0 ? "deadline " + name + " /by 2026-10-" + (10 + i % 20) : "todo " + name);
+                added++;
+            }
+        }
+        Files.write(script, lines, StandardCharsets.UTF_8);
+        return failures;
+    }
+
+    private static List<Task> read(Path path) {
+        Storage storage = new Storage(path.toString(), false, Storage.DEFAULT_COMPACTION_THRESHOLD, Durability.SYNC);
+        List<Task> tasks = storage.readFromFile();
+        storage.close();
+        return tasks;
+    }
+
+    private static String describe(List<Task> tasks) {
+        StringBuilder sb = new StringBuilder();
+        for (Task task : tasks) {
+            sb.append(task.toStringFileFormat()).append('\n');
+        }
+        return sb.toString();
+    }
+}
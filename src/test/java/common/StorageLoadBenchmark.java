@@ -0,0 +1,94 @@
+package common;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Scanner;
+
+import parser.FileParser;
+import task.Task;
+
+/**
+ * Compares the startup time of the Scanner-based loader with the parallel chunked loader and the binary snapshot.
+ * Run it with the main method; it is not part of the unit tests.
+ */
+public class StorageLoadBenchmark {
+
+    private static final int[] SIZES = {10_000, 100_000, 1_000_000};
+    private static final int ROUNDS = 5;
+
+    /**
+     * Main class of the benchmark.
+     *
+     * @param args command line input
+     * @throws Exception thrown in terms of storage error
+     */
+    public static void main(String[] args) throws Exception {
+        TaskFileLoader loader = new TaskFileLoader();
+        for (int size : SIZES) {
+            Path path = Files.createTempFile("duke-bench", ".txt");
+            writeTasks(path.toFile(), size);
+            Path binaryPath = Files.createTempFile("duke-bench", ".bin");
+            Files.write(binaryPath, BinarySnapshot.encode(loader.load(path), 0, new BinarySnapshot.Layout()));
+            long scannerNanos = Long.MAX_VALUE;
+            long chunkedNanos = Long.MAX_VALUE;
+            long binaryNanos = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                final int scanned = loadWithScanner(path.toFile()).size();
+                scannerNanos = Math.min(scannerNanos, System.nanoTime() - start);
+                start = System.nanoTime();
+                final int chunked = loader.load(path).size();
+                chunkedNanos = Math.min(chunkedNanos, System.nanoTime() - start);
+                start = System.nanoTime();
+                // read the way Storage reads a snapshot
+                int decoded = BinarySnapshot.decode(TaskFileLoader.readAll(binaryPath), new BinarySnapshot.Layout())
+                        .size();
+                binaryNanos = Math.min(binaryNanos, System.nanoTime() - start);
+                if (scanned != size || chunked != size || decoded != size) {
+                    throw new Error("loaders disagree: " + scanned + " vs " + chunked + " vs " + decoded);
+                }
+            }
+            System.out.printf("%,10d lines  scanner %8.1f ms  chunked %8.1f ms  binary %8.1f ms%n", size,
+                    scannerNanos / 1e6, chunkedNanos / 1e6, binaryNanos / 1e6);
+            Files.delete(path);
+            Files.delete(binaryPath);
+        }
+    }
+
+    private static void writeTasks(File file, int size) throws IOException {
+        try (BufferedWriter bw = new BufferedWriter(new FileWriter(file))) {
+            for (int i = 0; i < size; i++) {
+                switch (i % 3) {
+                case 0:
+                    bw.write("T | " + (i % 2) + " | read book " + i + "\n");
+                    break;
+                case 1:
+                    bw.write("D | " + (i % 2) + " | return book " + i + " | Oct 18 2026\n");
+                    break;
+                default:
+                    bw.write("E | " + (i % 2) + " | project meeting " + i + " | Aug 6th 2-4pm\n");
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Loads the file the way Storage did before the chunked loader.
+     */
+    private static ArrayList<Task> loadWithScanner(File file) throws IOException {
+        ArrayList<Task> builtList = new ArrayList<>();
+        FileParser fileParser = new FileParser();
+        try (Scanner fileScanner = new Scanner(file)) {
+            while (fileScanner.hasNext()) {
+                builtList.add(fileParser.decode(fileScanner.nextLine()));
+            }
+        }
+        return builtList;
+    }
+}
@@ -0,0 +1,161 @@
+package common;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import command.Command;
+import parser.Parser;
+import task.Task;
+import task.TaskList;
+import task.TaskVersion;
+import task.Todo;
+import ui.TextUi;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks transactions on a list of ten thousand tasks: a rollback restores the list and leaves the file as it was;
+ * a commit writes the list once, and the changes of the transaction are undone and redone as one change. Then checks
+ * that a transaction that is larger than the undo history drops the history.
+ */
+public class TransactionTest {
+
+    private static final int SIZE = 10_000;
+    private static final int CHANGES = 50;
+    private static final int ROUNDS = 5;
+
+    @Test
+    public void rollback_restoresListAndLeavesFile() throws Exception {
+        Path path = createFile();
+        Storage storage = new Storage(path.toString(), true, Storage.DEFAULT_COMPACTION_THRESHOLD, Durability.SYNC);
+        TaskList tasks = new TaskList(storage.readFromFile());
+        TextUi textUi = new TextUi();
+        Random random = new Random(25);
+        String original = describe(tasks.snapshot());
+        byte[] originalFile = Files.readAllBytes(path);
+        for (int round = 0; round < ROUNDS; round++) {
+            Transaction transaction = new Transaction(storage);
+            change(transaction, tasks, textUi, storage, random);
+            assertTrue(transaction.rollback(tasks) > 0);
+            assertEquals(original, describe(tasks.snapshot()), "the list after the rollback");
+            assertArrayEquals(originalFile, Files.readAllBytes(path), "the file after the rollback");
+        }
+        storage.close();
+        Files.delete(path);
+    }
+
+    @Test
+    public void commit_writesListOnce_undoneAndRedoneAsOneChange() throws Exception {
+        Path path = createFile();
+        Storage storage = new Storage(path.toString(), true, Storage.DEFAULT_COMPACTION_THRESHOLD, Durability.SYNC);
+        TaskList tasks = new TaskList(storage.readFromFile());
+        UndoManager history = new UndoManager(100, 1L << 20);
+        final String original = describe(tasks.snapshot());
+        byte[] originalFile = Files.readAllBytes(path);
+
+        Transaction transaction = new Transaction(storage);
+        change(transaction, tasks, new TextUi(), storage, new Random(25));
+        assertArrayEquals(originalFile, Files.readAllBytes(path), "the file before the commit");
+        transaction.commit(tasks, history);
+        String committed = describe(tasks.snapshot());
+        Storage reader = new Storage(path.toString(), true, Storage.DEFAULT_COMPACTION_THRESHOLD, Durability.SYNC);
+        assertEquals(committed, describe(reader.readFromFile()), "the file after the commit");
+        reader.close();
+
+        assertTrue(history.undo(tasks));
+        assertEquals(original, describe(tasks.snapshot()), "the list after undoing the transaction");
+        assertEquals(0, history.getUndoCount());
+        assertTrue(history.redo(tasks));
+        assertEquals(committed, describe(tasks.snapshot()), "the list after redoing the transaction");
+        assertEquals(0, history.getRedoCount());
+        storage.close();
+        Files.delete(path);
+    }
+
+    @Test
+    public void commit_largerThanHistory_dropsHistory() throws Exception {
+        Path path = createFile();
+        Storage storage = new Storage(path.toString(), true, Storage.DEFAULT_COMPACTION_THRESHOLD, Durability.SYNC);
+        TaskList tasks = new TaskList(storage.readFromFile());
+        TextUi textUi = new TextUi();
+        UndoManager history = new UndoManager(CHANGES / 2, 1L << 20);
+        history.record(addTask(tasks, textUi, storage));
+        Transaction transaction = new Transaction(storage);
+        change(transaction, tasks, textUi, storage, new Random(25));
+        transaction.commit(tasks, history);
+        assertEquals(0, history.getUndoCount(), "the changes kept after a transaction larger than the history");
+
+        history.record(addTask(tasks, textUi, storage));
+        transaction = new Transaction(storage);
+        transaction.getChanges().record(addTask(tasks, textUi, storage));
+        transaction.getChanges().record(addTask(tasks, textUi, storage));
+        transaction.commit(tasks, history);
+        history.undo(tasks);
+        assertEquals(1, history.getUndoCount(), "the change before the transaction");
+        assertEquals(2, history.getRedoCount(), "the transaction and the change after it");
+        storage.close();
+        Files.delete(path);
+    }
+
+    /**
+     * Writes a snapshot of SIZE tasks to a new file.
+     */
+    private static Path createFile() throws Exception {
+        Path path = Files.createTempFile("duke-transaction", ".bin");
+        Storage storage = new Storage(path.toString(), true, Storage.DEFAULT_COMPACTION_THRESHOLD, Durability.SYNC);
+        ArrayList<Task> seed = new ArrayList<>();
+        for (int i = 0; i < SIZE; i++) {
+            seed.add(new Todo("read book " + i));
+        }
+        storage.writeToFile(seed);
+        storage.close();
+        return path;
+    }
+
+    /**
+     * Makes random changes in a transaction, recording each as Duke does.
+     */
+    private static void change(Transaction transaction, TaskList tasks, TextUi textUi, Storage storage,
+            Random random) throws Exception {
+        for (int i = 0; i < CHANGES; i++) {
+            String input;
+            switch (random.nextInt(4)) {
+            case 0:
+                input = "todo return book " + random.nextInt();
+                break;
+            case 1:
+                input = "delete " + (1 + random.nextInt(tasks.size()));
+                break;
+            default:
+                input = "done " + (1 + random.nextInt(tasks.size()));
+                break;
+            }
+            TaskVersion before = tasks.getVersion();
+            Command c = Parser.parse(input);
+            c.execute(tasks, textUi, storage);
+            if (before.isParentOf(tasks.getVersion())) {
+                transaction.getChanges().record(tasks.getVersion());
+            }
+        }
+    }
+
+    private static TaskVersion addTask(TaskList tasks, TextUi textUi, Storage storage) throws Exception {
+        Parser.parse("todo join sports club " + tasks.size()).execute(tasks, textUi, storage);
+        return tasks.getVersion();
+    }
+
+    private static String describe(List<Task> tasks) {
+        StringBuilder sb = new StringBuilder();
+        for (Task task : tasks) {
+            sb.append(task.getId()).append(' ').append(task.toStringFileFormat()).append('\n');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,72 @@
+package common;
+
+import java.util.ArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import task.Deadline;
+import task.Event;
+import task.Task;
+import task.TaskList;
+import task.Todo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that undoing a delete puts back exactly the task that was deleted: its type, name, status, ID and timing,
+ * including names with leading, trailing or repeated spaces. Then checks that redoing and undoing the delete again
+ * keeps the task the same.
+ */
+public class UndoManagerTest {
+
+    @Test
+    public void undo_delete_restoresTaskFieldByField() {
+        ArrayList<Task> seed = new ArrayList<>();
+        seed.add(new Todo("read book "));
+        seed.add(new Todo("  return  book", true));
+        seed.add(new Deadline("return book ", "2026-10-18"));
+        seed.add(new Deadline(" project  meeting", "2026-10-18 1800", true));
+        seed.add(new Deadline("join sports club", "sometime next week"));
+        seed.add(new Event("project meeting ", "2026-10-18 1400-1600"));
+        seed.add(new Event("\tsports day", "Aug 6th 2-4pm", true));
+        for (int i = 0; i < seed.size(); i++) {
+            seed.get(i).setId(i + 1);
+        }
+        TaskList tasks = new TaskList(seed);
+        UndoManager history = new UndoManager(100, 1L << 20);
+        final int count = tasks.size();
+        for (int i = 0; i < count; i++) {
+            Task deleted = tasks.delete(0);
+            history.record(tasks.getVersion());
+            assertTrue(history.undo(tasks), "the delete of " + deleted + " was not undone");
+            compare(deleted, tasks.get(0));
+            assertTrue(history.redo(tasks), "the delete of " + deleted + " was not redone");
+            assertTrue(history.undo(tasks), "the delete of " + deleted + " was not undone again");
+            compare(deleted, tasks.get(0));
+            assertEquals(count - i, tasks.size());
+            // move the next task to the front, so every task is deleted once
+            tasks.delete(0);
+            history.record(tasks.getVersion());
+        }
+    }
+
+    private static void compare(Task expected, Task actual) {
+        check(expected.getClass(), actual.getClass(), "type", expected);
+        check(expected.name, actual.name, "name", expected);
+        check(expected.isDone, actual.isDone, "status", expected);
+        check(expected.getId(), actual.getId(), "ID", expected);
+        if (expected instanceof Deadline) {
+            check(((Deadline) expected).getBy(), ((Deadline) actual).getBy(), "deadline", expected);
+        }
+        if (expected instanceof Event) {
+            check(((Event) expected).getDuration(), ((Event) actual).getDuration(), "duration", expected);
+        }
+        check(expected.toString(), actual.toString(), "display", expected);
+        check(expected.toStringFileFormat(), actual.toStringFileFormat(), "file format", expected);
+    }
+
+    private static void check(Object expected, Object actual, String field, Task task) {
+        assertEquals(expected, actual, "the " + field + " of '" + task + "'");
+    }
+}
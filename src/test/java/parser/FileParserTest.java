@@ -0,0 +1,127 @@
+package parser;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.Test;
+
+import common.LoadReport;
+import common.TaskFileLoader;
+import task.Deadline;
+import task.Event;
+import task.Task;
+import task.Todo;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that FileParser decodes the lines of the text task file to the same tasks as the decoder it replaced,
+ * which split each line with a regular expression, and that a line the old decoder failed on decodes to null.
+ * Then checks that TaskFileLoader numbers the malformed lines of a file that is parsed in several chunks.
+ */
+public class FileParserTest {
+
+    private static final String[] PIECES = {"T", "E", "D", "X", " | ", " |", "| ", " ", "  ", "0", "1", " 1 ",
+        "read book", "Oct 18 2026", "2026-10-18 1400", "Aug 6th 2-4pm", "|", "\t",
+        "\u00e9", "\u65e5\u672c"}; // an e with an acute accent, and two CJK letters
+    private static final int LINES = 20_000;
+
+    @Test
+    public void decode_generatedLines_matchesSplittingDecoder() {
+        Random random = new Random(22);
+        FileParser fileParser = new FileParser();
+        for (int i = 0; i < LINES; i++) {
+            String line = createLine(random);
+            String expected = describe(decodeBySplitting(line));
+            String actual = describe(fileParser.decode(line));
+            byte[] bytes = ("xx" + line + "yy").getBytes(StandardCharsets.UTF_8);
+            String fromBytes = describe(fileParser.decode(ByteBuffer.wrap(bytes), 2, bytes.length - 2));
+            assertEquals(expected, actual, "\"" + line + "\"");
+            assertEquals(expected, fromBytes, "\"" + line + "\" as bytes");
+        }
+    }
+
+    private static String createLine(Random random) {
+        if (random.nextInt(4) == 0) {
+            StringBuilder sb = new StringBuilder();
+            int pieces = random.nextInt(9);
+            for (int i = 0; i < pieces; i++) {
+                sb.append(PIECES[random.nextInt(PIECES.length)]);
+            }
+            return sb.toString();
+        }
+        String type = "TEDX".substring(random.nextInt(4)).substring(0, 1);
+        StringBuilder sb = new StringBuilder(type).append(" | ").append(random.nextInt(2)).append(" | ");
+        sb.append(PIECES[12 + random.nextInt(PIECES.length - 12)]);
+        if (random.nextBoolean()) {
+            sb.append(" | ").append(PIECES[13 + random.nextInt(3)]);
+        }
+        return random.nextInt(8) == 0 ? " " + sb + " " : sb.toString();
+    }
+
+    private static String describe(Task task) {
+        if (task == null) {
+            return "null";
+        }
+        return task.getClass().getSimpleName() + ":" + task.toStringFileFormat() + ":" + task.isDone;
+    }
+
+    /**
+     * Decodes a line as the old decoder did, with null for a line it failed on.
+     */
+    private static Task decodeBySplitting(String line) {
+        String[] words = line.trim().split(" \\| ");
+        try {
+            boolean isDone = words[1].trim().equals("1");
+            String name = words[2].trim();
+            switch (words[0].trim()) {
+            case "T":
+                return new Todo(name, isDone);
+            case "E":
+                return new Event(name, words[3], isDone);
+            case "D":
+                return new Deadline(name, words[3], isDone);
+            default:
+                return new Task(name, isDone);
+            }
+        } catch (ArrayIndexOutOfBoundsException exp) {
+            return null;
+        }
+    }
+
+    /**
+     * Loads a file that is parsed in several chunks and has a malformed line in known places.
+     */
+    @Test
+    public void load_chunkedFile_reportsMalformedLineNumbers() throws IOException {
+        Path path = Files.createTempFile("duke-lines", ".txt");
+        List<Integer> expected = new ArrayList<>();
+        StringBuilder sb = new StringBuilder();
+        int lines = 20_000;
+        int blankLines = 0;
+        for (int i = 1; i <= lines; i++) {
+            if (i % 997 == 0 || i == lines) {
+                sb.append("T | 1\n");
+                expected.add(i);
+            } else if (i % 500 == 0) {
+                sb.append("\n");
+                blankLines++;
+            } else {
+                sb.append("D | 0 | return book ").append(i).append(" | Oct 18 2026\n");
+            }
+        }
+        Files.write(path, sb.toString().getBytes(StandardCharsets.UTF_8));
+        LoadReport report = new LoadReport();
+        int loaded = new TaskFileLoader(new ForkJoinPool(4)).load(path, report).size();
+        Files.delete(path);
+        assertEquals(expected, report.getLineNumbers());
+        assertEquals(lines - expected.size() - blankLines, loaded);
+    }
+}
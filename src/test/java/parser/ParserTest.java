@@ -0,0 +1,257 @@
+package parser;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.time.LocalDate;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import command.AddCommand;
+import command.Command;
+import command.ConflictsCommand;
+import command.DeleteCommand;
+import command.DisplayCommand;
+import command.DoneCommand;
+import command.DueCommand;
+import command.ErrorCommand;
+import command.ExitCommand;
+import command.FindCommand;
+import command.HelpCommand;
+import command.OverdueCommand;
+import command.ReminderCommand;
+import command.SearchCommand;
+import task.Deadline;
+import task.Event;
+import task.Task;
+import task.Todo;
+import ui.TextUi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that Parser.parse gives the same commands as the parser it replaced, which split the input with
+ * String.split, on a generated corpus of inputs. The commands are compared by class and by the values of their
+ * fields. The old parser failed on an input of only spaces, which now gives an ErrorCommand.
+ */
+public class ParserTest {
+
+    private static final String[] KEYWORDS = {"find", "search", "help", "reminders", "due", "overdue", "conflicts",
+        "bye", "list", "done", "delete", "todo", "event", "deadline", "undo", "fin", "lists", "DeAdLiNe",
+        "\u017fearch"}; // search with a long s, which uppercases to S
+    private static final String[] PIECES = {" ", "  ", "/", "/at ", "/by ", "/at", "at ", "by", "read book",
+        "2026-10-18", "Oct 18 2026", "2026-10-18 1400", "and", " and ", "before", "between", "next", "page", "3",
+        "-1", "007", "1-5", "5-1", "12-", "99999999999", "+4", "todo", "event", "deadline", "\t", "x",
+        "\u00df", "\u0661\u0662"}; // a sharp s, and 12 in Arabic-Indic digits
+    private static final String[] DATES = {"2026-10-18", "Oct 18 2026", "2026-02-30", "Oct 18", "x"};
+    private static final String[] GAPS = {" ", "  ", "\t", " and ", " AND ", " and  and ", "and"};
+    private static final int INPUTS = 20_000;
+
+    @Test
+    public void parse_generatedInputs_matchesSplittingParser() throws Exception {
+        Random random = new Random(21);
+        for (int i = 0; i < INPUTS; i++) {
+            String input = createInput(random);
+            String expected;
+            try {
+                expected = describe(parseBySplitting(input));
+            } catch (ArrayIndexOutOfBoundsException exp) {
+                assertTrue(input.isBlank(), "\"" + input + "\" failed to parse");
+                assertTrue(Parser.parse(input) instanceof ErrorCommand, "\"" + input + "\"");
+                continue;
+            } catch (RuntimeException exp) {
+                expected = exp.getClass().getName();
+            }
+            String actual;
+            try {
+                actual = describe(Parser.parse(input));
+            } catch (RuntimeException exp) {
+                actual = exp.getClass().getName();
+            }
+            assertEquals(expected, actual, "\"" + input + "\"");
+        }
+    }
+
+    private static String createInput(Random random) {
+        StringBuilder sb = new StringBuilder();
+        if (random.nextInt(10) == 0) {
+            sb.append("due").append(GAPS[random.nextInt(2)]).append(random.nextBoolean() ? "before" : "Between");
+            sb.append(GAPS[random.nextInt(3)]).append(DATES[random.nextInt(DATES.length)]);
+            if (random.nextBoolean()) {
+                sb.append(GAPS[random.nextInt(GAPS.length)]).append(DATES[random.nextInt(DATES.length)]);
+            }
+            return sb.toString();
+        }
+        if (random.nextInt(20) == 0) {
+            sb.append(" ");
+        }
+        if (random.nextInt(10) > 0) {
+            String keyword = KEYWORDS[random.nextInt(KEYWORDS.length)];
+            sb.append(random.nextBoolean() ? keyword : keyword.toUpperCase());
+        }
+        int pieces = random.nextInt(7);
+        for (int i = 0; i < pieces; i++) {
+            if (random.nextInt(3) > 0) {
+                sb.append(' ');
+            }
+            sb.append(PIECES[random.nextInt(PIECES.length)]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Describes a command by its class and the values of its fields, with tasks described by their file format.
+     */
+    private static String describe(Command command) throws IllegalAccessException {
+        StringBuilder sb = new StringBuilder(command.getClass().getSimpleName());
+        for (Class<?> type = command.getClass(); type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                field.setAccessible(true);
+                Object value = field.get(command);
+                sb.append(' ').append(field.getName()).append('=');
+                if (value instanceof Task) {
+                    sb.append(value.getClass().getSimpleName()).append(':').append(((Task) value).toStringFileFormat());
+                } else {
+                    sb.append(value);
+                }
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Parses an input as the old parser did.
+     */
+    private static Command parseBySplitting(String input) {
+        String[] words = input.split(" ");
+        String[] stamps = input.split("/");
+        String keyword = words[0];
+        if (input.equals("")) {
+            return new ErrorCommand();
+        }
+        if (keyword.equalsIgnoreCase("find")) {
+            if (words.length < 2) {
+                return new ErrorCommand();
+            }
+            return new FindCommand(input.substring(5).trim());
+        }
+        if (keyword.equalsIgnoreCase("search")) {
+            if (words.length < 2) {
+                return new ErrorCommand();
+            }
+            return new SearchCommand(input.substring(7).trim());
+        }
+        if (keyword.equalsIgnoreCase("help")) {
+            return new HelpCommand();
+        }
+        if (keyword.equalsIgnoreCase("reminders")) {
+            return handleReminderBySplitting(words);
+        }
+        if (keyword.equalsIgnoreCase("due")) {
+            return handleDueBySplitting(input.substring(3).trim());
+        }
+        if (input.trim().equalsIgnoreCase("overdue")) {
+            return new OverdueCommand();
+        }
+        if (input.trim().equalsIgnoreCase("conflicts")) {
+            return new ConflictsCommand();
+        }
+        if (keyword.equalsIgnoreCase("bye")) {
+            return new ExitCommand();
+        }
+        if (input.equalsIgnoreCase("list")) {
+            return new DisplayCommand();
+        }
+        if (keyword.equalsIgnoreCase("list")) {
+            return handleListBySplitting(words);
+        }
+        try {
+            if (keyword.equalsIgnoreCase("done")) {
+                return words.length != 2 ? new ErrorCommand() : new DoneCommand(Integer.parseInt(input.substring(5)));
+            } else if (keyword.equalsIgnoreCase("delete")) {
+                return words.length != 2 ? new ErrorCommand()
+                        : new DeleteCommand(Integer.parseInt(input.substring(7)));
+            }
+        } catch (NumberFormatException exp) {
+            return new ErrorCommand();
+        }
+        if (keyword.equalsIgnoreCase("todo")) {
+            return words.length < 2 ? new ErrorCommand() : new AddCommand(new Todo(input.substring(5).trim()));
+        } else if (keyword.equalsIgnoreCase("event")) {
+            String[] eventWords = input.split("/at ");
+            if (words.length < 4 || stamps.length < 2 || eventWords.length < 2) {
+                return new ErrorCommand();
+            }
+            return new AddCommand(new Event(stamps[0].substring(6), eventWords[1]));
+        } else if (keyword.equalsIgnoreCase("deadline")) {
+            String[] ddlWords = input.split("/by ");
+            if (words.length < 4 || stamps.length < 2 || ddlWords.length < 2) {
+                return new ErrorCommand();
+            }
+            return new AddCommand(new Deadline(stamps[0].substring(9), ddlWords[1]));
+        }
+        return new ErrorCommand();
+    }
+
+    private static Command handleReminderBySplitting(String[] words) {
+        if (words.length == 1) {
+            return new ReminderCommand();
+        } else if (words.length == 2) {
+            if (words[1].equalsIgnoreCase("todo")) {
+                return new ReminderCommand(1);
+            } else if (words[1].equalsIgnoreCase("event")) {
+                return new ReminderCommand(2);
+            } else if (words[1].equalsIgnoreCase("deadline")) {
+                return new ReminderCommand(3);
+            }
+        }
+        return new ErrorCommand();
+    }
+
+    private static Command handleListBySplitting(String[] words) {
+        try {
+            if (words.length == 2 && words[1].equalsIgnoreCase("next")) {
+                return new DisplayCommand(true);
+            } else if (words.length == 3 && words[1].equalsIgnoreCase("page")) {
+                int page = Integer.parseInt(words[2]);
+                if (page < 1 || page > Integer.MAX_VALUE / TextUi.LIST_PAGE_SIZE) {
+                    return new ErrorCommand();
+                }
+                return new DisplayCommand((page - 1) * TextUi.LIST_PAGE_SIZE, page * TextUi.LIST_PAGE_SIZE);
+            } else if (words.length == 2 && words[1].matches("\\d+-\\d+")) {
+                String[] bounds = words[1].split("-");
+                int first = Integer.parseInt(bounds[0]);
+                int last = Integer.parseInt(bounds[1]);
+                return first < 1 || last < first ? new ErrorCommand() : new DisplayCommand(first - 1, last);
+            }
+        } catch (NumberFormatException exp) {
+            return new ErrorCommand();
+        }
+        return new ErrorCommand();
+    }
+
+    private static Command handleDueBySplitting(String range) {
+        String[] words = range.split(" ", 2);
+        if (words.length < 2) {
+            return new ErrorCommand();
+        }
+        String dates = words[1].trim();
+        if (words[0].equalsIgnoreCase("before")) {
+            LocalDate before = TimeFormatter.parseDate(dates);
+            return before == null ? new ErrorCommand() : new DueCommand(null, before.minusDays(1));
+        } else if (words[0].equalsIgnoreCase("between")) {
+            String[] bounds = dates.contains(" and ") ? dates.split(" and ") : dates.split("\\s+");
+            if (bounds.length != 2) {
+                return new ErrorCommand();
+            }
+            LocalDate from = TimeFormatter.parseDate(bounds[0].trim());
+            LocalDate to = TimeFormatter.parseDate(bounds[1].trim());
+            return from == null || to == null ? new ErrorCommand() : new DueCommand(from, to);
+        }
+        return new ErrorCommand();
+    }
+}
@@ -0,0 +1,50 @@
+package parser;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the time TimeFormatter takes to parse generated text with the parser that caught an exception for every
+ * text of a date shape that is not a date. TimeFormatterTest checks that both parse the text the same way.
+ * It is a main-method benchmark like the others and is not part of the unit tests.
+ */
+public class TimeFormatterBenchmark {
+
+    private static final int TEXTS = 300_000;
+    private static final int ROUNDS = 5;
+
+    /**
+     * Main class of the benchmark.
+     *
+     * @param args command line input: an optional random seed
+     */
+    public static void main(String[] args) {
+        Random random = new Random(args.length > 0 ? Long.parseLong(args[0]) : 23);
+        List<String> texts = new ArrayList<>(TEXTS);
+        for (int i = 0; i < TEXTS; i++) {
+            texts.add(TimeFormatterTest.createText(random));
+        }
+        long oldNanos = Long.MAX_VALUE;
+        long newNanos = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            int found = 0;
+            for (String text : texts) {
+                found += TimeFormatterTest.parseDateByCatching(text) == null
+                        && TimeFormatterTest.parseDateTimeByCatching(text) == null ? 0 : 1;
+            }
+            oldNanos = Math.min(oldNanos, System.nanoTime() - start);
+            start = System.nanoTime();
+            for (String text : texts) {
+                found -= TimeFormatter.parseDate(text) == null && TimeFormatter.parseDateTime(text) == null ? 0 : 1;
+            }
+            newNanos = Math.min(newNanos, System.nanoTime() - start);
+            if (found > 0) {
+                throw new Error("the new parser found fewer dates");
+            }
+        }
+        System.out.printf("catching %.1f ns per text, shape checked and cached %.1f ns per text%n",
+                (double) oldNanos / TEXTS, (double) newNanos / TEXTS);
+    }
+}
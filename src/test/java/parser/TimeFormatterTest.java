@@ -0,0 +1,178 @@
+package parser;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.format.ResolverStyle;
+import java.time.temporal.TemporalAdjusters;
+import java.time.temporal.TemporalQuery;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that TimeFormatter parses the dates and times it parsed before the same way, now without exceptions, on
+ * generated text, and that it parses the new d/M/yyyy and relative forms. TimeFormatterBenchmark compares the time it
+ * takes with the parser that caught an exception for every text of a date shape that is not a date.
+ */
+public class TimeFormatterTest {
+
+    private static final DateTimeFormatter DISPLAY_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy");
+    private static final DateTimeFormatter DISPLAY_DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("MMM dd yyyy HH:mm");
+    private static final DateTimeFormatter STRICT_TIME_FORMAT = DateTimeFormatter.ofPattern("HH:mm")
+            .withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter STRICT_INPUT_TIME_FORMAT = DateTimeFormatter.ofPattern("HHmm")
+            .withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter STRICT_DATE_TIME_FORMAT = DateTimeFormatter.ofPattern("uuuu-MM-dd HHmm")
+            .withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter STRICT_DATE_COLON_TIME_FORMAT =
+            DateTimeFormatter.ofPattern("uuuu-MM-dd HH:mm").withResolverStyle(ResolverStyle.STRICT);
+    private static final DateTimeFormatter SLASH_FORMAT = DateTimeFormatter.ofPattern("d/M/uuuu")
+            .withResolverStyle(ResolverStyle.STRICT);
+    private static final String[] MONTHS = {"Jan", "Feb", "Oct", "Dec", "oct", "Foo"};
+    private static final String[] EDGES = {"Aug 6th 2-4pm", "after the exam", "2026-02-30", "2026-02-29",
+        "2024-02-29", "+2026-1-018", "-026-10-18", "2026-10-18T24:00", "2026-10-18T10:15:30.5", "2026-10-18T1015",
+        "2026-10-18 24:00", "2026-10-18 2400", "24:00", "2400", "+930", "9:30", "0930", "Oct 18 2026 24:00",
+        "OCT 18 2026", "Oct 18 0000", "0/10/2026", "29/2/2025", "29/2/2024", "18/10/+026", "18/10/2026 9:30",
+        "18/10/2026 0930", "1/1/0000", ""};
+    private static final int TEXTS = 20_000;
+
+    @Test
+    public void parse_generatedTexts_matchesCatchingParser() {
+        Random random = new Random(23);
+        for (int i = 0; i < TEXTS; i++) {
+            String text = createText(random);
+            LocalDate date = TimeFormatter.parseDate(text);
+            LocalDate oldDate = parseDateByCatching(text);
+            if (oldDate != null || date == null) {
+                assertEquals(oldDate, date, "\"" + text + "\"");
+            } else {
+                // only the new d/M/yyyy form may find a date that the old parser did not
+                assertEquals(parseSlashDate(text), date, "\"" + text + "\"");
+            }
+            LocalDateTime dateTime = TimeFormatter.parseDateTime(text);
+            LocalDateTime oldDateTime = parseDateTimeByCatching(text);
+            if (oldDateTime != null || dateTime == null) {
+                assertEquals(oldDateTime, dateTime, "\"" + text + "\"");
+            } else {
+                assertTrue(isSlashDateTime(text), "\"" + text + "\"");
+            }
+            assertEquals(parseTimeByCatching(text), TimeFormatter.parseTime(text), "\"" + text + "\"");
+        }
+    }
+
+    static String createText(Random random) {
+        int year = 2020 + random.nextInt(10);
+        int month = random.nextInt(14);
+        int day = random.nextInt(33);
+        int hour = random.nextInt(26);
+        int minute = random.nextInt(62);
+        switch (random.nextInt(9)) {
+        case 0:
+            return String.format("%04d-%02d-%02d", year, month, day);
+        case 1:
+            return String.format("%s %02d %04d", MONTHS[random.nextInt(MONTHS.length)], day, year);
+        case 2:
+            return String.format("%04d-%02d-%02d %02d%02d", year, month, day, hour, minute);
+        case 3:
+            return String.format("%04d-%02d-%02d %02d:%02d", year, month, day, hour, minute);
+        case 4:
+            return String.format("%04d-%02d-%02dT%02d:%02d:%02d", year, month, day, hour, minute, minute);
+        case 5:
+            return String.format("%s %02d %04d %02d:%02d", MONTHS[random.nextInt(MONTHS.length)], day, year, hour,
+                    minute);
+        case 6:
+            return String.format("%d/%d/%04d", day, month, year);
+        case 7:
+            return random.nextBoolean() ? String.format("%02d%02d", hour, minute)
+                    : String.format("%02d:%02d", hour, minute);
+        default:
+            return EDGES[random.nextInt(EDGES.length)];
+        }
+    }
+
+    /**
+     * Checks the d/M/yyyy forms and the forms relative to a day.
+     */
+    @Test
+    public void parse_slashAndRelativeForms() {
+        final LocalDate today = LocalDate.of(2026, 10, 18);
+        check(TimeFormatter.parseDate("2/12/2019"), LocalDate.of(2019, 12, 2));
+        check(TimeFormatter.parseDate("31/4/2026"), null);
+        check(TimeFormatter.parseDateTime("2/12/2019 1800"), LocalDateTime.of(2019, 12, 2, 18, 0));
+        check(TimeFormatter.parseRelativeDate("Today", today), today);
+        check(TimeFormatter.parseRelativeDate("tomorrow", today), today.plusDays(1));
+        check(TimeFormatter.parseRelativeDate("next mon", today), today.with(TemporalAdjusters.next(DayOfWeek.MONDAY)));
+        check(TimeFormatter.parseRelativeDate("next Sunday", today), today.plusDays(7));
+        check(TimeFormatter.parseRelativeDate("next week", today), null);
+        check(TimeFormatter.parseRelativeDateTime("tomorrow 0930", today), today.plusDays(1).atTime(9, 30));
+        check(TimeFormatter.parseRelativeDateTime("next fri 25:00", today), null);
+    }
+
+    private static void check(Object actual, Object expected) {
+        assertEquals(expected, actual);
+    }
+
+    private static LocalDate parseSlashDate(String text) {
+        return parseByCatching(text, SLASH_FORMAT, LocalDate::from);
+    }
+
+    private static boolean isSlashDateTime(String text) {
+        int spaceAt = text.lastIndexOf(' ');
+        return spaceAt > 0 && parseSlashDate(text.substring(0, spaceAt)) != null
+                && parseByCatching(text.substring(spaceAt + 1), STRICT_INPUT_TIME_FORMAT, LocalTime::from) != null;
+    }
+
+    static LocalDate parseDateByCatching(String text) {
+        if (text.length() == 10 && text.charAt(4) == '-' && text.charAt(7) == '-') {
+            return parseByCatching(text, DateTimeFormatter.ISO_LOCAL_DATE, LocalDate::from);
+        }
+        if (text.length() == 11 && text.charAt(3) == ' ' && text.charAt(6) == ' ') {
+            LocalDate date = parseByCatching(text, DISPLAY_FORMAT, LocalDate::from);
+            return date != null && date.format(DISPLAY_FORMAT).equals(text) ? date : null;
+        }
+        return null;
+    }
+
+    static LocalDateTime parseDateTimeByCatching(String text) {
+        if (text.length() >= 15 && text.charAt(4) == '-' && text.charAt(7) == '-') {
+            if (text.charAt(10) == 'T') {
+                return parseByCatching(text, DateTimeFormatter.ISO_LOCAL_DATE_TIME, LocalDateTime::from);
+            }
+            if (text.charAt(10) == ' ' && text.length() <= 16) {
+                return parseByCatching(text, text.length() == 15 ? STRICT_DATE_TIME_FORMAT
+                        : STRICT_DATE_COLON_TIME_FORMAT, LocalDateTime::from);
+            }
+            return null;
+        }
+        if (text.length() == 17 && text.charAt(3) == ' ' && text.charAt(6) == ' ' && text.charAt(11) == ' ') {
+            LocalDateTime dateTime = parseByCatching(text, DISPLAY_DATE_TIME_FORMAT, LocalDateTime::from);
+            return dateTime != null && dateTime.format(DISPLAY_DATE_TIME_FORMAT).equals(text) ? dateTime : null;
+        }
+        return null;
+    }
+
+    private static LocalTime parseTimeByCatching(String text) {
+        if (text.length() == 4) {
+            return parseByCatching(text, STRICT_INPUT_TIME_FORMAT, LocalTime::from);
+        }
+        if (text.length() == 5 && text.charAt(2) == ':') {
+            return parseByCatching(text, STRICT_TIME_FORMAT, LocalTime::from);
+        }
+        return null;
+    }
+
+    private static <T> T parseByCatching(String text, DateTimeFormatter format, TemporalQuery<T> query) {
+        try {
+            return format.parse(text, query);
+        } catch (DateTimeParseException exp) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package task;
+
+import java.util.ArrayList;
+
+/**
+ * Compares the substring search of the find command with the trigram index against the linear scan it replaced,
+ * on a list of a million tasks. Both must find the same tasks.
+ * JMH is not part of the build, so this is a main-method benchmark like the others; run it with a heap of a few
+ * gigabytes. It is not part of the unit tests.
+ */
+public class TaskFindBenchmark {
+
+    private static final int SIZE = 1_000_000;
+    private static final int ROUNDS = 5;
+    private static final String[] QUERIES = {"book 4242", "meeting 99", "ook 12345", "(by: oct", "[v] read", "xyz",
+        "ub 7"};
+    private static final String[] NAMES = {"read book", "return book", "project meeting", "join sports club"};
+
+    /**
+     * Main class of the benchmark.
+     *
+     * @param args command line input
+     */
+    public static void main(String[] args) {
+        TaskList tasks = new TaskList();
+        for (int i = 0; i < SIZE; i++) {
+            String name = NAMES[i % NAMES.length] + " " + i;
+            switch (i % 3) {
+            case 0:
+                tasks.add(new Todo(name, i % 2 == 0));
+                break;
+            case 1:
+                tasks.add(new Deadline(name, "Oct 18 2026", i % 2 == 0));
+                break;
+            default:
+                tasks.add(new Event(name, "Aug 6th 2-4pm", i % 2 == 0));
+                break;
+            }
+        }
+        for (String query : QUERIES) {
+            long scanNanos = Long.MAX_VALUE;
+            long indexNanos = Long.MAX_VALUE;
+            int scanned = 0;
+            int indexed = 0;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                scanned = findWithScan(tasks, query).size();
+                scanNanos = Math.min(scanNanos, System.nanoTime() - start);
+                start = System.nanoTime();
+                indexed = findWithIndex(tasks, query).size();
+                indexNanos = Math.min(indexNanos, System.nanoTime() - start);
+            }
+            if (scanned != indexed || !findWithScan(tasks, query).equals(findWithIndex(tasks, query))) {
+                throw new Error("\"" + query + "\": scan found " + scanned + " but index " + indexed);
+            }
+            System.out.printf("%-12s %,8d matches  scan %8.2f ms  index %8.2f ms%n", "\"" + query + "\"", indexed,
+                    scanNanos / 1e6, indexNanos / 1e6);
+        }
+    }
+
+    /**
+     * Finds the matches the way TextUi did before the trigram index.
+     */
+    private static ArrayList<String> findWithScan(TaskList tasks, String item) {
+        ArrayList<String> matches = new ArrayList<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            String thisItem = tasks.get(i).toString();
+            if (thisItem.toLowerCase().contains(item.toLowerCase())) {
+                matches.add(thisItem);
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Finds the matches the way TextUi does now.
+     */
+    private static ArrayList<String> findWithIndex(TaskList tasks, String item) {
+        ArrayList<String> matches = new ArrayList<>();
+        String lowerCaseItem = item.toLowerCase();
+        for (Task candidate : tasks.findCandidates(lowerCaseItem)) {
+            String thisItem = candidate.toString();
+            if (thisItem.toLowerCase().contains(lowerCaseItem)) {
+                matches.add(thisItem);
+            }
+        }
+        return matches;
+    }
+}
@@ -0,0 +1,89 @@
+package task;
+
+import java.util.ArrayList;
+
+/**
+ * Compares bulk adding with the duplicate index of TaskList against the linear duplicate scan it replaced.
+ * The linear scan is quadratic, so it only runs for the smaller sizes.
+ * Run it with the main method; it is not part of the unit tests.
+ */
+public class TaskListAddBenchmark {
+
+    private static final int[] SIZES = {10_000, 20_000, 100_000};
+    private static final int LINEAR_LIMIT = 20_000;
+    private static final int ROUNDS = 5;
+
+    /**
+     * Main class of the benchmark.
+     *
+     * @param args command line input
+     */
+    public static void main(String[] args) {
+        for (int size : SIZES) {
+            ArrayList<Task> tasks = createTasks(size);
+            long indexedNanos = Long.MAX_VALUE;
+            long linearNanos = Long.MAX_VALUE;
+            for (int round = 0; round < ROUNDS; round++) {
+                long start = System.nanoTime();
+                TaskList indexed = new TaskList();
+                for (Task task : tasks) {
+                    indexed.add(task);
+                }
+                indexedNanos = Math.min(indexedNanos, System.nanoTime() - start);
+                int expected = size - size / 10;
+                if (indexed.size() != expected) {
+                    throw new Error("indexed add kept " + indexed.size() + " of " + expected);
+                }
+                if (size > LINEAR_LIMIT) {
+                    continue;
+                }
+                start = System.nanoTime();
+                ArrayList<Task> linear = new ArrayList<>();
+                for (Task task : tasks) {
+                    addWithScan(linear, task);
+                }
+                linearNanos = Math.min(linearNanos, System.nanoTime() - start);
+                if (linear.size() != expected) {
+                    throw new Error("linear add kept " + linear.size() + " of " + expected);
+                }
+            }
+            System.out.printf("%,10d tasks  indexed %8.1f ms  linear %s%n", size, indexedNanos / 1e6,
+                    size > LINEAR_LIMIT ? "skipped" : String.format("%8.1f ms", linearNanos / 1e6));
+        }
+    }
+
+    /**
+     * Creates tasks of all types where every tenth task repeats an earlier one in another case.
+     */
+    private static ArrayList<Task> createTasks(int size) {
+        ArrayList<Task> tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            int n = i % 10 == 9 ? i - 1 : i;
+            String name = i % 10 == 9 ? "TASK " + n : "task " + n;
+            switch (n % 3) {
+            case 0:
+                tasks.add(new Todo(name));
+                break;
+            case 1:
+                tasks.add(new Deadline(name, "Oct 18 2026", false));
+                break;
+            default:
+                tasks.add(new Event(name, "Aug 6th 2-4pm", false));
+                break;
+            }
+        }
+        return tasks;
+    }
+
+    /**
+     * Adds a task the way TaskList did before the duplicate index.
+     */
+    private static void addWithScan(ArrayList<Task> list, Task addedTask) {
+        for (int i = 0; i < list.size(); i++) {
+            if (addedTask.toString().equalsIgnoreCase(list.get(i).toString())) {
+                return;
+            }
+        }
+        list.add(addedTask);
+    }
+}
@@ -0,0 +1,217 @@
+package task;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks a TaskList shared by threads: writers add, delete and mark tasks while readers list, find and remind.
+ * The writers remember which tasks they added and deleted, so that no update can be lost, and the readers check
+ * that each result they get is consistent in itself, as a result made while a change was half done would not be.
+ * At the end the list is checked against its own snapshot, on both stores.
+ */
+public class TaskListConcurrencyTest {
+
+    private static final String[] NAMES = {"read book", "return book", "project meeting", "join sports club"};
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int ROUNDS = 2_000;
+    private static final long SEED = 17;
+    private static final Duration TIMEOUT = Duration.ofSeconds(60);
+
+    @Test
+    public void sharedList_arrayStore_staysConsistent() {
+        assertTimeoutPreemptively(TIMEOUT, () -> check(new TaskList()));
+    }
+
+    @Test
+    public void sharedList_compactStore_staysConsistent() {
+        assertTimeoutPreemptively(TIMEOUT, () -> check(new TaskList(new ArrayList<>(), new CompactTaskStore())));
+    }
+
+    private static void check(TaskList tasks) throws InterruptedException {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Set<Long> addedIds = ConcurrentHashMap.newKeySet();
+        Set<Long> deletedIds = ConcurrentHashMap.newKeySet();
+        Thread[] writers = new Thread[WRITERS];
+        for (int i = 0; i < WRITERS; i++) {
+            Random random = new Random(SEED + i);
+            writers[i] = start(failure, () -> {
+                for (int round = 0; round < ROUNDS; round++) {
+                    write(tasks, random, round, addedIds, deletedIds);
+                }
+            });
+        }
+        Thread[] readers = new Thread[READERS];
+        for (int i = 0; i < READERS; i++) {
+            Random random = new Random(SEED - i);
+            readers[i] = start(failure, () -> {
+                while (isAlive(writers) && failure.get() == null) {
+                    read(tasks, random);
+                }
+            });
+        }
+        for (Thread thread : writers) {
+            thread.join();
+        }
+        for (Thread thread : readers) {
+            thread.join();
+        }
+        assertNull(failure.get(), () -> "a thread failed: " + failure.get());
+
+        // no lost update: the list holds exactly the tasks that were added and not deleted
+        Set<Long> expectedIds = new TreeSet<>(addedIds);
+        expectedIds.removeAll(deletedIds);
+        Set<Long> actualIds = new TreeSet<>();
+        for (Task task : tasks.snapshot()) {
+            actualIds.add(task.getId());
+        }
+        assertEquals(expectedIds, actualIds);
+        checkAtRest(tasks);
+    }
+
+    private static Thread start(AtomicReference<Throwable> failure, Runnable work) {
+        Thread thread = new Thread(() -> {
+            try {
+                work.run();
+            } catch (Throwable exp) {
+                failure.compareAndSet(null, exp);
+            }
+        });
+        thread.start();
+        return thread;
+    }
+
+    private static boolean isAlive(Thread[] threads) {
+        for (Thread thread : threads) {
+            if (thread.isAlive()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void write(TaskList tasks, Random random, int round, Set<Long> addedIds, Set<Long> deletedIds) {
+        int size = tasks.size();
+        int choice = random.nextInt(10);
+        if (choice < 5 || size == 0) {
+            Task task = createTask(random, round);
+            assertTrue(tasks.add(task), () -> task + " was taken for a duplicate");
+            addedIds.add(task.getId());
+        } else if (choice < 7) {
+            // another writer may have deleted the task meanwhile, which delete reports with null
+            Task deleted = tasks.delete(random.nextInt(size));
+            if (deleted != null) {
+                assertTrue(deletedIds.add(deleted.getId()), () -> deleted + " was deleted twice");
+            }
+        } else if (choice < 9) {
+            tasks.done(random.nextInt(size));
+        } else {
+            try {
+                tasks.unDone(tasks.get(random.nextInt(size)));
+            } catch (IndexOutOfBoundsException exp) {
+                // another writer shrank the list between size and get
+            }
+        }
+    }
+
+    private static void read(TaskList tasks, Random random) {
+        switch (random.nextInt(5)) {
+        case 0:
+            checkNumbered(tasks.toListString(), true);
+            break;
+        case 1:
+            checkNumbered(tasks.toUndoneListString(), false);
+            break;
+        case 2:
+            checkNumbered(tasks.toDueListString(LocalDate.of(2026, 10, 1), LocalDate.of(2026, 12, 31)), false);
+            break;
+        case 3:
+            for (Task task : tasks.search("book")) {
+                assertTrue(task.toString().contains("book"), () -> "found " + task + " for book");
+            }
+            break;
+        default:
+            checkSnapshot(tasks.snapshot());
+            break;
+        }
+    }
+
+    /**
+     * Checks that a listing numbers its lines one after another, or with every task listed, as 1, 2, 3 and so on.
+     */
+    private static void checkNumbered(String listing, boolean isComplete) {
+        if (listing.isEmpty()) {
+            return;
+        }
+        int previous = 0;
+        for (String line : listing.split("\n")) {
+            String trimmed = line.trim();
+            int number = Integer.parseInt(trimmed.substring(0, trimmed.indexOf('.')));
+            if (isComplete) {
+                assertEquals(previous + 1, number, listing);
+            } else {
+                assertTrue(number > previous, () -> "line " + number + " after a later line in\n" + listing);
+            }
+            previous = number;
+        }
+    }
+
+    /**
+     * Checks that the IDs of a snapshot go up. Tasks are only appended with a new ID and deleted, so a snapshot
+     * with an ID out of order or twice holds a change that was half done.
+     */
+    private static void checkSnapshot(List<Task> snapshot) {
+        long previous = Task.NO_ID;
+        for (Task task : snapshot) {
+            assertTrue(task.getId() > previous, () -> "task " + task.getId() + " out of order in a snapshot");
+            previous = task.getId();
+        }
+    }
+
+    private static void checkAtRest(TaskList tasks) {
+        List<Task> snapshot = tasks.snapshot();
+        assertEquals(tasks.size(), snapshot.size());
+        checkSnapshot(snapshot);
+        int undone = 0;
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < snapshot.size(); i++) {
+            Task task = snapshot.get(i);
+            // the display index of each task leads to its slot and back
+            assertEquals(i, tasks.indexOf(task.getId()), "the index of task " + task.getId());
+            assertEquals(task.getId(), tasks.get(i).getId(), "the task at " + i);
+            assertEquals(task.isDone, tasks.get(i).isDone, "the status of task " + task.getId());
+            if (!task.isDone) {
+                undone++;
+            }
+            expected.append("     ").append(i + 1).append(". ").append(task).append("\n");
+        }
+        assertEquals(undone, tasks.countUndone());
+        assertEquals(expected.toString(), tasks.toListString());
+    }
+
+    private static Task createTask(Random random, int round) {
+        String name = NAMES[random.nextInt(NAMES.length)] + " " + Thread.currentThread().getId() + "-" + round;
+        switch (random.nextInt(3)) {
+        case 0:
+            return new Todo(name, random.nextBoolean());
+        case 1:
+            return new Deadline(name, "2026-" + (10 + random.nextInt(3)) + "-1" + random.nextInt(10), false);
+        default:
+            return new Event(name, "Aug 6th 2-4pm", random.nextBoolean());
+        }
+    }
+}
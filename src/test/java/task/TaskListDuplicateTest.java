@@ -0,0 +1,71 @@
+package task;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import common.Durability;
+import common.Storage;
+import parser.Parser;
+import ui.TextUi;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that a task typed again after the list was reloaded is rejected as a duplicate, whether the list was
+ * migrated from a text file, which keeps names trimmed, or read from a snapshot. The typed commands leave a space
+ * before /by, so their names only match the stored names once the names are trimmed.
+ */
+public class TaskListDuplicateTest {
+
+    private static final String[] COMMANDS = {
+        "todo read book ",
+        "deadline return book /by 2026-10-18",
+        "event project meeting /at 2026-10-18 1400-1600",
+        "todo   join sports club",
+    };
+
+    @Test
+    public void add_afterMigratingTextFile_rejectsDuplicates() throws Exception {
+        Path textPath = Files.createTempFile("duke-duplicate", ".txt");
+        Files.write(textPath, Arrays.asList(
+                "T | 0 | read book",
+                "D | 0 | return book | Oct 18 2026",
+                "E | 1 | project meeting | Oct 18 2026 14:00-16:00",
+                "T | 0 | join sports club"), StandardCharsets.UTF_8);
+        checkReload(textPath, new TextUi(), "a migrated text file");
+        Files.delete(textPath);
+    }
+
+    @Test
+    public void add_afterReadingSnapshot_rejectsDuplicates() throws Exception {
+        TextUi textUi = new TextUi();
+        Path snapshotPath = Files.createTempFile("duke-duplicate", ".bin");
+        Storage storage = new Storage(snapshotPath.toString(), true, Storage.DEFAULT_COMPACTION_THRESHOLD,
+                Durability.SYNC);
+        TaskList tasks = new TaskList(storage.readFromFile());
+        for (String command : COMMANDS) {
+            Parser.parse(command).execute(tasks, textUi, storage);
+        }
+        storage.close();
+        checkReload(snapshotPath, textUi, "a snapshot");
+        Files.delete(snapshotPath);
+    }
+
+    /**
+     * Reloads the list from a file and types every command again, which must not add a task.
+     */
+    private static void checkReload(Path path, TextUi textUi, String source) throws Exception {
+        Storage storage = new Storage(path.toString(), true, Storage.DEFAULT_COMPACTION_THRESHOLD, Durability.SYNC);
+        TaskList tasks = new TaskList(storage.readFromFile());
+        assertEquals(COMMANDS.length, tasks.size(), "the tasks in " + source);
+        for (String command : COMMANDS) {
+            Parser.parse(command).execute(tasks, textUi, storage);
+            assertEquals(COMMANDS.length, tasks.size(), "'" + command + "' was added again after reloading " + source);
+        }
+        storage.close();
+    }
+}
@@ -0,0 +1,64 @@
+package task;
+
+import java.util.ArrayList;
+
+/**
+ * Reports the heap a TaskList holds with the object store and with the compact store.
+ * Run it with the main method, optionally with the number of tasks as the argument, and a heap large enough for
+ * the object store; it is not part of the unit tests.
+ */
+public class TaskListMemoryReport {
+
+    private static final int DEFAULT_SIZE = 2_000_000;
+    private static final String[] NAMES = {"read book", "return book", "project meeting", "buy milk", "call mum"};
+
+    /**
+     * Main class of the report.
+     *
+     * @param args command line input: the number of tasks
+     */
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_SIZE;
+        report("objects", size, new ObjectTaskStore());
+        report("compact", size, new CompactTaskStore());
+    }
+
+    private static void report(String label, int size, TaskStore emptyStore) {
+        long before = usedHeap();
+        TaskList tasks = new TaskList(new ArrayList<>(), emptyStore);
+        for (int i = 0; i < size; i++) {
+            tasks.add(createTask(i));
+        }
+        long after = usedHeap();
+        if (tasks.size() != size) {
+            throw new Error("kept " + tasks.size() + " of " + size + " tasks");
+        }
+        System.out.printf("%-8s %,10d tasks  %8.1f MB  %6.1f bytes per task%n", label, size,
+                (after - before) / 1e6, (double) (after - before) / size);
+    }
+
+    /**
+     * Creates tasks of all types; names repeat a few words with a unique number, as real lists do.
+     */
+    private static Task createTask(int i) {
+        String name = NAMES[i % NAMES.length] + " " + i / NAMES.length;
+        switch (i % 3) {
+        case 0:
+            return new Todo(name, i % 2 == 0);
+        case 1:
+            // a date between 2024 and 2034, without a time
+            int minute = (20_000 + i % 3650) * 24 * 60;
+            return new Deadline(name, Timing.ofEpochMinutes(minute, minute, false), i % 2 == 0);
+        default:
+            return new Event(name, "Aug 6th 2-4pm", i % 2 == 0);
+        }
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,52 @@
+package task;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Compares the search command with the inverted index against a linear scan over every task, on a list of a
+ * hundred thousand tasks. Both must find the same tasks; TaskSearchTest checks that on a list that changes.
+ * It is a main-method benchmark like the others and is not part of the unit tests.
+ */
+public class TaskSearchBenchmark {
+
+    private static final int SIZE = 100_000;
+    private static final int QUERIES = 20;
+    private static final int ROUNDS = 5;
+
+    /**
+     * Main class of the benchmark.
+     *
+     * @param args command line input
+     */
+    public static void main(String[] args) {
+        Random random = new Random(11);
+        TaskList tasks = new TaskList();
+        while (tasks.size() < SIZE) {
+            tasks.add(TaskSearchTest.createTask(random));
+            // number the names, so that most tasks are not duplicates
+            tasks.add(new Todo("read book " + tasks.size()));
+        }
+        long scanNanos = Long.MAX_VALUE;
+        long indexNanos = Long.MAX_VALUE;
+        int matches = 0;
+        for (int round = 0; round < ROUNDS; round++) {
+            Random queries = new Random(round);
+            for (int i = 0; i < QUERIES; i++) {
+                String query = TaskSearchTest.createQuery(queries);
+                long start = System.nanoTime();
+                final List<Task> scanned = TaskSearchTest.scan(tasks, query);
+                scanNanos = Math.min(scanNanos, System.nanoTime() - start);
+                start = System.nanoTime();
+                List<Task> indexed = tasks.search(query);
+                indexNanos = Math.min(indexNanos, System.nanoTime() - start);
+                if (!indexed.equals(scanned)) {
+                    throw new Error("\"" + query + "\": index found " + indexed.size() + " but scan " + scanned.size());
+                }
+                matches += indexed.size();
+            }
+        }
+        System.out.printf("%,d tasks  %,d matches  fastest query: scan %8.2f ms  index %8.3f ms%n", tasks.size(),
+                matches, scanNanos / 1e6, indexNanos / 1e6);
+    }
+}
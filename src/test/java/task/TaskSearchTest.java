@@ -0,0 +1,118 @@
+package task;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the inverted index behind TaskList.search against a linear scan over a generated list that is mutated
+ * between queries. The scan lowercases the rendered task and splits it into words, as the find command did.
+ */
+public class TaskSearchTest {
+
+    private static final String[] WORDS = {"read", "reading", "book", "books", "return", "project", "meeting",
+        "Meet", "club", "sports", "join", "2-4pm", "Aug", "6th", "Mon", "report", "repair",
+        "caf\u00e9"}; // cafe with an acute e, a letter outside ASCII
+    private static final String[] PREFIXES = {"re", "rea", "boo", "meet", "b", "c", "2", "a", "x"};
+    private static final int ROUNDS = 500;
+
+    @Test
+    public void search_mutatedList_matchesLinearScan() {
+        Random random = new Random(11);
+        TaskList tasks = new TaskList();
+        for (int round = 0; round < ROUNDS; round++) {
+            mutate(tasks, random);
+            for (int i = 0; i < 5; i++) {
+                String query = createQuery(random);
+                assertEquals(scan(tasks, query).toString(), tasks.search(query).toString(), "\"" + query + "\"");
+            }
+        }
+    }
+
+    private static void mutate(TaskList tasks, Random random) {
+        int size = tasks.size();
+        int choice = random.nextInt(10);
+        if (choice < 6 || size == 0) {
+            tasks.add(createTask(random));
+        } else if (choice < 8) {
+            tasks.delete(random.nextInt(size));
+        } else if (choice < 9) {
+            tasks.done(random.nextInt(size));
+        } else {
+            tasks.remove(tasks.get(random.nextInt(size)));
+        }
+    }
+
+    static Task createTask(Random random) {
+        StringBuilder name = new StringBuilder();
+        for (int i = random.nextInt(4); i >= 0; i--) {
+            name.append(WORDS[random.nextInt(WORDS.length)]).append(i > 0 ? " " : "");
+        }
+        switch (random.nextInt(3)) {
+        case 0:
+            return new Todo(name.toString());
+        case 1:
+            return new Deadline(name.toString(), WORDS[random.nextInt(WORDS.length)], false);
+        default:
+            return new Event(name.toString(), "Aug 6th " + WORDS[random.nextInt(WORDS.length)], false);
+        }
+    }
+
+    static String createQuery(Random random) {
+        StringBuilder query = new StringBuilder();
+        for (int i = random.nextInt(4); i >= 0; i--) {
+            if (random.nextInt(5) == 0) {
+                query.append(PREFIXES[random.nextInt(PREFIXES.length)]).append('*');
+            } else {
+                query.append(WORDS[random.nextInt(WORDS.length)].toUpperCase(Locale.ROOT));
+            }
+            if (i > 0) {
+                query.append(random.nextInt(3) == 0 ? " or " : " ");
+            }
+        }
+        return query.toString();
+    }
+
+    /**
+     * Evaluates a query by looking at every task.
+     */
+    static List<Task> scan(TaskList tasks, String query) {
+        ArrayList<Task> matches = new ArrayList<>();
+        String[] alternatives = query.toLowerCase(Locale.ROOT).split(" or ");
+        for (Task task : tasks.snapshot()) {
+            String rendered = task.toString().toLowerCase(Locale.ROOT);
+            // drop the type and status marks and the date labels, which are not words of the task
+            String text = rendered.substring(7).replace(" (by: ", " ").replace(" (at: ", " ");
+            List<String> words = Arrays.asList(text.split("[^\\p{L}\\p{Nd}]+"));
+            for (String alternative : alternatives) {
+                if (matchesAll(words, alternative.trim().split("\\s+"))) {
+                    matches.add(task);
+                    break;
+                }
+            }
+        }
+        return matches;
+    }
+
+    private static boolean matchesAll(List<String> words, String[] terms) {
+        for (String term : terms) {
+            boolean isMatched = false;
+            for (String word : words) {
+                if (term.endsWith("*") ? word.startsWith(term.substring(0, term.length() - 1)) : word.equals(term)) {
+                    isMatched = true;
+                    break;
+                }
+            }
+            if (!isMatched) {
+                return false;
+            }
+        }
+        return true;
+    }
+}